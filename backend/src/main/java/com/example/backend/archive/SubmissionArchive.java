@@ -0,0 +1,247 @@
+package com.example.backend.archive;
+
+import com.example.backend.entity.FormData;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Read-only tier for old submissions, kept as {@link SubmissionArchiveFile}s on local disk, one per
+ * form and month: {@code <directory>/<url-encoded form key>/<yyyy-MM>.ndjson.gz}. All files are
+ * opened at startup and indexed per form, so a lookup by id only searches, form by form, the
+ * files whose id range covers it.
+ */
+@Component
+@Slf4j
+public class SubmissionArchive {
+
+  private static final String EXTENSION = ".ndjson.gz";
+
+  private final Path directory;
+  private final ObjectMapper objectMapper;
+  private final Map<String, FormFiles> forms = new ConcurrentHashMap<>();
+
+  public SubmissionArchive(
+      @Value("${submission.archive.directory:data/archive}") Path directory,
+      ObjectMapper objectMapper) {
+    this.directory = directory;
+    this.objectMapper = objectMapper;
+  }
+
+  @PostConstruct
+  void load() throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    int opened = 0;
+    try (Stream<Path> paths = Files.walk(directory, 2)) {
+      for (Path path :
+          paths
+              .filter(p -> p.getParent() != null && !p.getParent().equals(directory))
+              .filter(p -> p.getFileName().toString().endsWith(EXTENSION))
+              .toList()) {
+        String formKey =
+            URLDecoder.decode(path.getParent().getFileName().toString(), StandardCharsets.UTF_8);
+        String name = path.getFileName().toString();
+        YearMonth month = YearMonth.parse(name.substring(0, name.length() - EXTENSION.length()));
+        forms
+            .computeIfAbsent(formKey, key -> new FormFiles())
+            .replace(month, SubmissionArchiveFile.open(path, objectMapper));
+        opened++;
+      }
+    }
+    log.info("Opened {} submission archive file(s) in {}", opened, directory);
+  }
+
+  @PreDestroy
+  void close() {
+    forms.values().forEach(FormFiles::close);
+  }
+
+  public Optional<FormData> findById(long id) {
+    for (FormFiles form : forms.values()) {
+      Optional<FormData> formData = form.findById(id);
+      if (formData.isPresent()) {
+        return formData;
+      }
+    }
+    return Optional.empty();
+  }
+
+  /** Archived submissions of a form, month by month and by id within a month. */
+  public Stream<FormData> streamByFormKey(String formKey) {
+    FormFiles form = forms.get(formKey);
+    if (form == null) {
+      return Stream.empty();
+    }
+    // Each month is looked up as the stream reaches it, so a file replaced meanwhile is not missed
+    return form.months().stream().flatMap(form::stream);
+  }
+
+  /**
+   * Adds {@code submissions}, in ascending id order, to the archive of a form and month. The file
+   * is rewritten next to the old one, merged with what it already holds (records with the same id
+   * are replaced), forced to disk and moved into place, so readers see either version in full.
+   *
+   * @return the number of submissions taken from {@code submissions}
+   */
+  public int append(String formKey, YearMonth month, Iterator<FormData> submissions)
+      throws IOException {
+    if (!submissions.hasNext()) {
+      return 0;
+    }
+    Path target = formDirectory(formKey).resolve(month + EXTENSION);
+    Files.createDirectories(target.getParent());
+    Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+    FormFiles form = forms.computeIfAbsent(formKey, key -> new FormFiles());
+    int[] added = new int[1];
+    Iterator<FormData> counted =
+        new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return submissions.hasNext();
+          }
+
+          @Override
+          public FormData next() {
+            added[0]++;
+            return submissions.next();
+          }
+        };
+    try (Stream<FormData> archived = form.stream(month)) {
+      SubmissionArchiveFile.write(temp, merge(archived.iterator(), counted), objectMapper);
+    }
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+      channel.force(true);
+    }
+    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    SubmissionArchiveFile replaced =
+        form.replace(month, SubmissionArchiveFile.open(target, objectMapper));
+    if (replaced != null) {
+      // Readers still streaming the old file keep it mapped until they finish
+      replaced.close();
+    }
+    return added[0];
+  }
+
+  private Path formDirectory(String formKey) {
+    return directory.resolve(URLEncoder.encode(formKey, StandardCharsets.UTF_8));
+  }
+
+  /** Merges two id-ordered iterators; on equal ids the record from {@code updates} wins. */
+  private static Iterator<FormData> merge(Iterator<FormData> base, Iterator<FormData> updates) {
+    return new Iterator<>() {
+      private FormData nextBase = advance(base);
+      private FormData nextUpdate = advance(updates);
+
+      @Override
+      public boolean hasNext() {
+        return nextBase != null || nextUpdate != null;
+      }
+
+      @Override
+      public FormData next() {
+        FormData result;
+        if (nextUpdate == null
+            || (nextBase != null && nextBase.getId() < nextUpdate.getId())) {
+          result = nextBase;
+          nextBase = advance(base);
+        } else {
+          if (nextBase != null && nextBase.getId().equals(nextUpdate.getId())) {
+            nextBase = advance(base);
+          }
+          result = nextUpdate;
+          nextUpdate = advance(updates);
+        }
+        return result;
+      }
+    };
+  }
+
+  private static FormData advance(Iterator<FormData> iterator) {
+    return iterator.hasNext() ? iterator.next() : null;
+  }
+
+  /**
+   * The files of one form, by month and by smallest id. Ids grow with submission time, so the
+   * months of a form barely overlap and a lookup only checks the files starting at or below the
+   * id. Files are retained under the lock, so a replaced file is never handed out after closing.
+   */
+  private static final class FormFiles {
+    private final NavigableMap<YearMonth, SubmissionArchiveFile> byMonth = new TreeMap<>();
+    private final NavigableMap<Long, SubmissionArchiveFile> byFirstId = new TreeMap<>();
+
+    /** Installs {@code file} for {@code month}; the caller closes the file it replaced. */
+    synchronized SubmissionArchiveFile replace(YearMonth month, SubmissionArchiveFile file) {
+      SubmissionArchiveFile replaced = byMonth.put(month, file);
+      if (replaced != null) {
+        byFirstId.remove(replaced.firstId());
+      }
+      byFirstId.put(file.firstId(), file);
+      return replaced;
+    }
+
+    synchronized List<YearMonth> months() {
+      return List.copyOf(byMonth.keySet());
+    }
+
+    Stream<FormData> stream(YearMonth month) {
+      SubmissionArchiveFile file;
+      synchronized (this) {
+        file = byMonth.get(month);
+        if (file == null || !file.retain()) {
+          return Stream.empty();
+        }
+      }
+      return file.stream().onClose(file::release);
+    }
+
+    Optional<FormData> findById(long id) {
+      List<SubmissionArchiveFile> candidates;
+      synchronized (this) {
+        candidates =
+            byFirstId.headMap(id, true).descendingMap().values().stream()
+                .filter(file -> file.covers(id) && file.retain())
+                .toList();
+      }
+      Optional<FormData> formData = Optional.empty();
+      for (SubmissionArchiveFile file : candidates) {
+        try {
+          if (formData.isEmpty()) {
+            formData = file.findById(id);
+          }
+        } finally {
+          file.release();
+        }
+      }
+      return formData;
+    }
+
+    synchronized void close() {
+      byMonth.values().forEach(SubmissionArchiveFile::close);
+      byMonth.clear();
+      byFirstId.clear();
+    }
+  }
+}
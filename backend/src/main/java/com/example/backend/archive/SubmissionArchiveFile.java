@@ -0,0 +1,380 @@
+package com.example.backend.archive;
+
+import com.example.backend.entity.FormData;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import sun.misc.Unsafe;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * One archive file: submissions as NDJSON, ordered by id, compressed in blocks of {@value
+ * #BLOCK_SIZE} records, followed by an uncompressed index footer.
+ *
+ * <pre>
+ * gzip member (block 0) ... gzip member (block n)
+ * index:   count x (id: long, block offset: long), ascending by id
+ * trailer: index offset: long, count: int, magic: int
+ * </pre>
+ *
+ * <p>The blocks are concatenated gzip members, so {@code zcat} reads the records (and warns about
+ * the footer). The file is memory-mapped; a lookup by id is a binary search over the index
+ * followed by inflating a single block.
+ *
+ * <p>The mapping is released on {@link #close} rather than left to the garbage collector, which
+ * would keep replaced files mapped indefinitely. Readers that may outlive the owner's reference
+ * {@link #retain} the file and {@link #release} it when done; it is unmapped after the last one.
+ */
+public final class SubmissionArchiveFile implements Closeable {
+
+  static final int BLOCK_SIZE = 256;
+  private static final int MAGIC = 0x53554241; // "SUBA"
+  private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES + Integer.BYTES;
+  private static final int ENTRY_LONGS = 2;
+  private static final Unsafe UNSAFE = unsafe();
+
+  private final Path path;
+  private final MappedByteBuffer buffer;
+  private final LongBuffer index;
+  private final int indexOffset;
+  private final int count;
+  private final ObjectMapper objectMapper;
+  // The owner's reference plus one per reader; the buffer is unmapped when it drops to zero
+  private final AtomicInteger references = new AtomicInteger(1);
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  private SubmissionArchiveFile(
+      Path path, MappedByteBuffer buffer, int indexOffset, int count, ObjectMapper objectMapper) {
+    this.path = path;
+    this.buffer = buffer;
+    this.indexOffset = indexOffset;
+    this.count = count;
+    this.index = buffer.slice(indexOffset, count * ENTRY_LONGS * Long.BYTES).asLongBuffer();
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Writes {@code submissions}, which must be in ascending id order, to {@code path}.
+   *
+   * @return the number of records written
+   */
+  public static int write(Path path, Iterator<FormData> submissions, ObjectMapper objectMapper)
+      throws IOException {
+    long[] ids = new long[1024];
+    long[] offsets = new long[1024];
+    int count = 0;
+    try (CountingOutputStream file =
+            new CountingOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024));
+        DataOutputStream out = new DataOutputStream(file)) {
+      GZIPOutputStream block = null;
+      long blockOffset = 0;
+      long previousId = Long.MIN_VALUE;
+      while (submissions.hasNext()) {
+        FormData formData = submissions.next();
+        if (formData.getId() <= previousId) {
+          throw new IllegalArgumentException("Submissions must be in ascending id order");
+        }
+        previousId = formData.getId();
+        if (count % BLOCK_SIZE == 0) {
+          if (block != null) {
+            block.finish();
+          }
+          blockOffset = file.count;
+          block = new GZIPOutputStream(new NonClosingOutputStream(file), 8192);
+        }
+        if (count == ids.length) {
+          ids = Arrays.copyOf(ids, count * 2);
+          offsets = Arrays.copyOf(offsets, count * 2);
+        }
+        ids[count] = formData.getId();
+        offsets[count] = blockOffset;
+        count++;
+        block.write(objectMapper.writeValueAsBytes(formData));
+        block.write('\n');
+      }
+      if (block != null) {
+        block.finish();
+      }
+      long indexOffset = file.count;
+      for (int i = 0; i < count; i++) {
+        out.writeLong(ids[i]);
+        out.writeLong(offsets[i]);
+      }
+      out.writeLong(indexOffset);
+      out.writeInt(count);
+      out.writeInt(MAGIC);
+    }
+    return count;
+  }
+
+  public static SubmissionArchiveFile open(Path path, ObjectMapper objectMapper)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < TRAILER_BYTES || size > Integer.MAX_VALUE) {
+        throw new IOException("Not a submission archive: " + path);
+      }
+      // The mapping stays valid after the channel is closed
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      int trailer = (int) size - TRAILER_BYTES;
+      long indexOffset = buffer.getLong(trailer);
+      int count = buffer.getInt(trailer + Long.BYTES);
+      if (buffer.getInt(trailer + Long.BYTES + Integer.BYTES) != MAGIC
+          || indexOffset + (long) count * ENTRY_LONGS * Long.BYTES != trailer) {
+        throw new IOException("Not a submission archive: " + path);
+      }
+      return new SubmissionArchiveFile(path, buffer, (int) indexOffset, count, objectMapper);
+    }
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  public int size() {
+    return count;
+  }
+
+  /** The smallest id in this file; files are never written empty. */
+  long firstId() {
+    return idAt(0);
+  }
+
+  /** Whether {@code id} lies between the smallest and the largest id in this file. */
+  public boolean covers(long id) {
+    return count > 0 && id >= idAt(0) && id <= idAt(count - 1);
+  }
+
+  public Optional<FormData> findById(long id) {
+    int low = 0;
+    int high = count - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      long midId = idAt(mid);
+      if (midId < id) {
+        low = mid + 1;
+      } else if (midId > id) {
+        high = mid - 1;
+      } else {
+        return Optional.of(readFromBlock(mid, id));
+      }
+    }
+    return Optional.empty();
+  }
+
+  /** All records in id order, inflated block by block as the stream is consumed. */
+  public Stream<FormData> stream() {
+    BufferedReader reader = reader(0, indexOffset);
+    Iterator<FormData> iterator =
+        new Iterator<>() {
+          private String next = readLine(reader);
+
+          @Override
+          public boolean hasNext() {
+            return next != null;
+          }
+
+          @Override
+          public FormData next() {
+            if (next == null) {
+              throw new NoSuchElementException();
+            }
+            FormData formData = objectMapper.readValue(next, FormData.class);
+            next = readLine(reader);
+            return formData;
+          }
+        };
+    return StreamSupport.stream(
+        Spliterators.spliterator(
+            iterator, count, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED),
+        false);
+  }
+
+  /**
+   * Keeps the file mapped until the matching {@link #release}.
+   *
+   * @return {@code false} if the file has already been unmapped
+   */
+  public boolean retain() {
+    int current;
+    do {
+      current = references.get();
+      if (current == 0) {
+        return false;
+      }
+    } while (!references.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  public void release() {
+    if (references.decrementAndGet() == 0) {
+      // Any access after this point would fault, hence the reference count
+      UNSAFE.invokeCleaner(buffer);
+    }
+  }
+
+  /** Drops the owner's reference; the file is unmapped once no reader retains it. */
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      release();
+    }
+  }
+
+  private static Unsafe unsafe() {
+    try {
+      Field field = Unsafe.class.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      return (Unsafe) field.get(null);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private FormData readFromBlock(int entry, long id) {
+    long offset = blockOffsetAt(entry);
+    int end = entry + 1;
+    while (end < count && blockOffsetAt(end) == offset) {
+      end++;
+    }
+    long blockEnd = end < count ? blockOffsetAt(end) : indexOffset;
+    BufferedReader reader = reader((int) offset, (int) blockEnd);
+    // Entries of a block are in record order, so the record is at the same position
+    int first = entry;
+    while (first > 0 && blockOffsetAt(first - 1) == offset) {
+      first--;
+    }
+    String line = null;
+    for (int i = first; i <= entry; i++) {
+      line = readLine(reader);
+    }
+    FormData formData = objectMapper.readValue(line, FormData.class);
+    if (formData.getId() != id) {
+      throw new IllegalStateException("Corrupt archive index in " + path);
+    }
+    return formData;
+  }
+
+  private BufferedReader reader(int from, int to) {
+    try {
+      InputStream in =
+          new GZIPInputStream(new ByteBufferInputStream(buffer.slice(from, to - from)), 8192);
+      return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read archive " + path, e);
+    }
+  }
+
+  private String readLine(BufferedReader reader) {
+    try {
+      return reader.readLine();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read archive " + path, e);
+    }
+  }
+
+  private long idAt(int entry) {
+    return index.get(entry * ENTRY_LONGS);
+  }
+
+  private long blockOffsetAt(int entry) {
+    return index.get(entry * ENTRY_LONGS + 1);
+  }
+
+  /** Reads the mapped file without copying it to the heap. */
+  private static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int n = Math.min(len, buffer.remaining());
+      buffer.get(b, off, n);
+      return n;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+
+  /** Keeps track of the file position, which is where the next block starts. */
+  private static final class CountingOutputStream extends FilterOutputStream {
+    private long count;
+
+    CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+  }
+
+  /** Lets each block's gzip stream finish without closing the file. */
+  private static final class NonClosingOutputStream extends FilterOutputStream {
+    NonClosingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,136 @@
+package com.example.backend.archive;
+
+import com.example.backend.entity.FormData;
+import com.example.backend.repository.FormDataRepository;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves submissions older than {@code after-days} from {@code form_data} into the {@link
+ * SubmissionArchive}. Whole months are archived, so a month is moved once all of it is past the
+ * cutoff. A month is first written and forced to disk, then the archived rows are deleted from the
+ * database by id and version, so a submission edited in between stays and is archived again, like
+ * all rows left behind when the process stops in between; the next run rewrites the same file,
+ * replacing the duplicates.
+ *
+ * <p>Archived submissions stay in the {@code form_counter} statistics and remain readable by id
+ * and in exports, but can no longer be edited or deleted.
+ */
+@Component
+@ConditionalOnProperty(name = "submission.archive.enabled", havingValue = "true")
+@Slf4j
+public class SubmissionArchiver {
+
+  // submitted_at is not updatable; it only narrows the delete to the month's partition
+  private static final String DELETE_ARCHIVED =
+      "DELETE FROM form_data"
+          + " WHERE id = ? AND version = ? AND submitted_at >= ? AND submitted_at < ?";
+  private static final int DELETE_BATCH_SIZE = 500;
+
+  /** What a delete must match; kept instead of the entities so a month's payloads are not held. */
+  private record ArchivedRow(long id, long version) {}
+
+  private final SubmissionArchive submissionArchive;
+  private final FormDataRepository formDataRepository;
+  private final EntityManager entityManager;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate readOnlyTransactionTemplate;
+  private final int afterDays;
+
+  public SubmissionArchiver(
+      SubmissionArchive submissionArchive,
+      FormDataRepository formDataRepository,
+      EntityManager entityManager,
+      JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      @Value("${submission.archive.after-days:365}") int afterDays) {
+    this.submissionArchive = submissionArchive;
+    this.formDataRepository = formDataRepository;
+    this.entityManager = entityManager;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.readOnlyTransactionTemplate =
+        new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+    this.readOnlyTransactionTemplate.setReadOnly(true);
+    this.afterDays = afterDays;
+  }
+
+  @Scheduled(cron = "${submission.archive.cron:0 0 4 * * *}")
+  public void archive() {
+    archive(LocalDate.now());
+  }
+
+  void archive(LocalDate today) {
+    YearMonth firstKept = YearMonth.from(today.minusDays(afterDays));
+    LocalDateTime cutoff = firstKept.atDay(1).atStartOfDay();
+    for (Object[] row : formDataRepository.findOldestSubmissionBefore(cutoff)) {
+      String formKey = (String) row[0];
+      YearMonth oldest = YearMonth.from((LocalDateTime) row[1]);
+      for (YearMonth month = oldest; month.isBefore(firstKept); month = month.plusMonths(1)) {
+        archive(formKey, month);
+      }
+    }
+  }
+
+  private void archive(String formKey, YearMonth month) {
+    LocalDateTime from = month.atDay(1).atStartOfDay();
+    LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+    List<ArchivedRow> archived = new ArrayList<>();
+    readOnlyTransactionTemplate.executeWithoutResult(
+        status -> {
+          try (Stream<FormData> submissions =
+              formDataRepository.streamSubmittedBetween(formKey, from, to)) {
+            submissionArchive.append(
+                formKey,
+                month,
+                submissions
+                    .peek(entityManager::detach)
+                    .peek(f -> archived.add(new ArchivedRow(f.getId(), f.getVersion())))
+                    .iterator());
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+    if (archived.isEmpty()) {
+      return;
+    }
+    // Only the rows as archived: one edited since was read at an older version and is kept
+    int[][] counts =
+        transactionTemplate.execute(
+            status ->
+                jdbcTemplate.batchUpdate(
+                    DELETE_ARCHIVED,
+                    archived,
+                    DELETE_BATCH_SIZE,
+                    (statement, row) -> {
+                      statement.setLong(1, row.id());
+                      statement.setLong(2, row.version());
+                      statement.setTimestamp(3, Timestamp.valueOf(from));
+                      statement.setTimestamp(4, Timestamp.valueOf(to));
+                    }));
+    int deleted = Arrays.stream(counts).flatMapToInt(Arrays::stream).map(c -> Math.max(c, 0)).sum();
+    log.info(
+        "Archived {} submission(s) of form {} for {}, deleted {}; the rest changed meanwhile",
+        archived.size(),
+        formKey,
+        month,
+        deleted);
+  }
+}
@@ -0,0 +1,23 @@
+package com.example.backend.config;
+
+import com.example.backend.util.AuthenticatedUser;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+/**
+ * Authenticates a decoded token like the resource server's default converter, and resolves its
+ * {@link AuthenticatedUser} while doing so, once per request.
+ */
+public class AuthenticatedUserConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+  private final JwtAuthenticationConverter delegate = new JwtAuthenticationConverter();
+
+  @Override
+  public AbstractAuthenticationToken convert(Jwt jwt) {
+    AbstractAuthenticationToken token = delegate.convert(jwt);
+    return new AuthenticatedUserToken(
+        jwt, token.getAuthorities(), token.getName(), AuthenticatedUser.of(token));
+  }
+}
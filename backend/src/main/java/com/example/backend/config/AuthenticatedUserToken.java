@@ -0,0 +1,24 @@
+package com.example.backend.config;
+
+import com.example.backend.util.AuthenticatedUser;
+import java.util.Collection;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/** A {@link JwtAuthenticationToken} that carries the {@link AuthenticatedUser} derived from it. */
+@Getter
+public class AuthenticatedUserToken extends JwtAuthenticationToken {
+
+  private final AuthenticatedUser user;
+
+  public AuthenticatedUserToken(
+      Jwt jwt,
+      Collection<? extends GrantedAuthority> authorities,
+      String name,
+      AuthenticatedUser user) {
+    super(jwt, authorities, name);
+    this.user = user;
+  }
+}
@@ -0,0 +1,34 @@
+package com.example.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  public static final String FORMS = "forms";
+  public static final String FORM_STATS = "formStats";
+
+  /**
+   * Evictions issued inside a transaction are deferred until it commits, so a concurrent reader
+   * cannot re-cache the old definition between the eviction and the commit.
+   */
+  @Bean
+  public CacheManager cacheManager(
+      @Value("${cache.forms.spec}") String formsSpec,
+      @Value("${cache.form-stats.spec}") String formStatsSpec) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager(FORMS);
+    cacheManager.setCacheSpecification(formsSpec);
+    cacheManager.setAllowNullValues(false);
+    // Statistics are never evicted on writes; the short TTL bounds how stale they get
+    cacheManager.registerCustomCache(FORM_STATS, Caffeine.from(formStatsSpec).build());
+    return new TransactionAwareCacheManagerProxy(cacheManager);
+  }
+}
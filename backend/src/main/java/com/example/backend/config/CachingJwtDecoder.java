@@ -0,0 +1,89 @@
+package com.example.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Remembers bearer tokens that passed verification until they expire, so repeated requests with
+ * the same token skip the signature check. Entries are keyed by the SHA-256 hash of the token and
+ * only tokens that carry an expiry are kept; rejected tokens always go to the delegate.
+ *
+ * <p>Every decode is timed as {@value #TIMER}, tagged with {@code result} {@code cached}, {@code
+ * verified} or {@code rejected}.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+  static final String TIMER = "jwt.decode";
+
+  private final JwtDecoder delegate;
+  private final Cache<String, Jwt> verified;
+  private final Timer cachedTimer;
+  private final Timer verifiedTimer;
+  private final Timer rejectedTimer;
+
+  public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.verified =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(
+                Expiry.<String, Jwt>creating(
+                    (key, jwt) -> Duration.between(Instant.now(), jwt.getExpiresAt())))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt");
+    this.cachedTimer = timer(meterRegistry, "cached");
+    this.verifiedTimer = timer(meterRegistry, "verified");
+    this.rejectedTimer = timer(meterRegistry, "rejected");
+  }
+
+  @Override
+  public Jwt decode(String token) throws JwtException {
+    long start = System.nanoTime();
+    String key = hash(token);
+    Jwt jwt = verified.getIfPresent(key);
+    if (jwt != null) {
+      cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return jwt;
+    }
+    try {
+      jwt = delegate.decode(token);
+    } catch (JwtException e) {
+      rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+    verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(Instant.now())) {
+      verified.put(key, jwt);
+    }
+    return jwt;
+  }
+
+  private static Timer timer(MeterRegistry meterRegistry, String result) {
+    return Timer.builder(TIMER).tag("result", result).register(meterRegistry);
+  }
+
+  private static String hash(String token) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getEncoder().withoutPadding().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -4,6 +4,7 @@ import com.example.backend.entity.Field;
 import com.example.backend.entity.FieldOption;
 import com.example.backend.entity.Form;
 import com.example.backend.repository.FormRepository;
+import com.example.backend.service.FormVersions;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 import java.io.IOException;
@@ -25,6 +26,7 @@ public class DatabaseInitializer implements CommandLineRunner {
 
   private final FormRepository formRepository;
   private final ObjectMapper objectMapper;
+  private final FormVersions formVersions;
 
   @Override
   @Transactional
@@ -49,7 +51,7 @@ public class DatabaseInitializer implements CommandLineRunner {
           }
 
           Form form = parseForm(formKey, resource);
-          formRepository.save(form);
+          formVersions.snapshot(formRepository.saveAndFlush(form));
           loadedCount++;
           log.info("Loaded form definition: {}", formKey);
         }
@@ -0,0 +1,33 @@
+package com.example.backend.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Makes PostgreSQL's {@code jsonb @@ jsonpath} operator callable from JPQL and Criteria queries.
+ * The operator form matters: the equivalent {@code jsonb_path_match()} function cannot use a GIN
+ * index. Registered through {@code META-INF/services}; other dialects (H2 in tests) do not get it.
+ */
+public class JsonbFunctionContributor implements FunctionContributor {
+
+  public static final String JSONB_PATH_MATCH = "jsonb_path_match_op";
+
+  @Override
+  public void contributeFunctions(FunctionContributions functionContributions) {
+    if (!(functionContributions.getDialect() instanceof PostgreSQLDialect)) {
+      return;
+    }
+    functionContributions
+        .getFunctionRegistry()
+        .patternDescriptorBuilder(JSONB_PATH_MATCH, "(?1 @@ cast(?2 as jsonpath))")
+        .setExactArgumentCount(2)
+        .setInvariantType(
+            functionContributions
+                .getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN))
+        .register();
+  }
+}
@@ -0,0 +1,150 @@
+package com.example.backend.config;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSetCacheRefreshEvaluator;
+import com.nimbusds.jose.jwk.source.JWKSetSource;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.jwk.source.URLBasedJWKSetSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import com.nimbusds.jose.util.ResourceRetriever;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.text.ParseException;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * Replaces the resource server's default decoder. Signing keys are loaded once the application is
+ * up and refreshed in the background before they go stale, so no request waits for the JWK Set,
+ * and verified tokens are remembered by {@link CachingJwtDecoder}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "spring.security.oauth2.resourceserver.jwt.issuer-uri")
+@Slf4j
+public class JwtDecoderConfig {
+
+  private static final int HTTP_TIMEOUT_MILLIS = 2000;
+  private static final int HTTP_SIZE_LIMIT = 512 * 1024;
+
+  @Bean
+  public JWKSource<SecurityContext> jwkSource(
+      @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+      @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri:}") String jwkSetUri,
+      @Value("${security.jwt.jwks.cache-ttl:15m}") Duration cacheTtl,
+      @Value("${security.jwt.jwks.refresh-ahead:1m}") Duration refreshAhead) {
+    ResourceRetriever retriever =
+        new DefaultResourceRetriever(HTTP_TIMEOUT_MILLIS, HTTP_TIMEOUT_MILLIS, HTTP_SIZE_LIMIT);
+    JWKSetSource<SecurityContext> source =
+        jwkSetUri.isBlank()
+            ? new DiscoveredJwkSetSource(issuerUri, retriever)
+            : new URLBasedJWKSetSource<>(toUrl(jwkSetUri), retriever);
+    return JWKSourceBuilder.create(source)
+        .cache(cacheTtl.toMillis(), JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT)
+        .refreshAheadCache(refreshAhead.toMillis(), true)
+        .retrying(true)
+        .build();
+  }
+
+  @Bean
+  public JwtDecoder jwtDecoder(
+      JWKSource<SecurityContext> jwkSource,
+      @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+      @Value("${security.jwt.cache-size:10000}") long cacheSize,
+      MeterRegistry meterRegistry) {
+    NimbusJwtDecoder decoder = NimbusJwtDecoder.withJwkSource(jwkSource).build();
+    decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+    return new CachingJwtDecoder(decoder, cacheSize, meterRegistry);
+  }
+
+  /** Loads the keys off the startup path; if the issuer is not up yet, the first request does. */
+  @Bean
+  public ApplicationListener<ApplicationReadyEvent> jwkSetPrefetch(
+      JWKSource<SecurityContext> jwkSource) {
+    return event ->
+        Thread.ofVirtual()
+            .name("jwks-prefetch")
+            .start(
+                () -> {
+                  try {
+                    int keys =
+                        jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null)
+                            .size();
+                    log.info("Prefetched {} signing key(s)", keys);
+                  } catch (KeySourceException e) {
+                    log.warn("Could not prefetch signing keys: {}", e.getMessage());
+                  }
+                });
+  }
+
+  private static URL toUrl(String uri) {
+    try {
+      return URI.create(uri).toURL();
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Invalid URL: " + uri, e);
+    }
+  }
+
+  /** Looks up the JWK Set URI in the issuer's OpenID metadata when the keys are first loaded. */
+  private static final class DiscoveredJwkSetSource implements JWKSetSource<SecurityContext> {
+
+    private final String issuerUri;
+    private final ResourceRetriever retriever;
+    private volatile URLBasedJWKSetSource<SecurityContext> delegate;
+
+    DiscoveredJwkSetSource(String issuerUri, ResourceRetriever retriever) {
+      this.issuerUri = issuerUri;
+      this.retriever = retriever;
+    }
+
+    @Override
+    public JWKSet getJWKSet(
+        JWKSetCacheRefreshEvaluator refreshEvaluator, long currentTime, SecurityContext context)
+        throws KeySourceException {
+      // Callers are serialized by the caching source above, so discovery runs once
+      if (delegate == null) {
+        delegate = new URLBasedJWKSetSource<>(discover(), retriever);
+      }
+      return delegate.getJWKSet(refreshEvaluator, currentTime, context);
+    }
+
+    private URL discover() throws KeySourceException {
+      String metadataUri = issuerUri.replaceAll("/$", "") + "/.well-known/openid-configuration";
+      try {
+        String jwksUri =
+            JSONObjectUtils.getString(
+                JSONObjectUtils.parse(retriever.retrieveResource(toUrl(metadataUri)).getContent()),
+                "jwks_uri");
+        if (jwksUri == null) {
+          throw new KeySourceException("No jwks_uri in " + metadataUri);
+        }
+        return toUrl(jwksUri);
+      } catch (IOException | ParseException | IllegalArgumentException e) {
+        throw new KeySourceException("Could not read " + metadataUri + ": " + e.getMessage(), e);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (delegate != null) {
+        delegate.close();
+      }
+    }
+  }
+}
@@ -2,14 +2,19 @@ package com.example.backend.config;
 
 import java.util.Arrays;
 import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -19,6 +24,44 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
+
+  static final String PROMETHEUS_SCRAPER = "ROLE_PROMETHEUS_SCRAPER";
+
+  /**
+   * The Prometheus scrape endpoint. A scraper cannot renew an expiring bearer token, so it uses
+   * HTTP Basic with the static {@code security.prometheus} credential instead; admins' tokens are
+   * accepted too. Without a configured password only admins can scrape.
+   */
+  @Bean
+  @Order(1)
+  public SecurityFilterChain prometheusFilterChain(
+      HttpSecurity http,
+      @Value("${security.prometheus.username:prometheus}") String username,
+      @Value("${security.prometheus.password:}") String password)
+      throws Exception {
+    InMemoryUserDetailsManager scrapers = new InMemoryUserDetailsManager();
+    if (!password.isBlank()) {
+      scrapers.createUser(
+          User.withUsername(username)
+              .password(
+                  PasswordEncoderFactories.createDelegatingPasswordEncoder().encode(password))
+              .authorities(PROMETHEUS_SCRAPER)
+              .build());
+    }
+    http.securityMatcher("/actuator/prometheus")
+        .csrf(AbstractHttpConfigurer::disable)
+        .authorizeHttpRequests(
+            authorize -> authorize.anyRequest().hasAnyAuthority(PROMETHEUS_SCRAPER, "ROLE_ADMIN"))
+        .httpBasic(Customizer.withDefaults())
+        .userDetailsService(scrapers)
+        .oauth2ResourceServer(
+            oauth2 ->
+                oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(new AuthenticatedUserConverter())))
+        .sessionManagement(
+            session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+    return http.build();
+  }
+
   @Bean
   public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
     http.cors(Customizer.withDefaults())
@@ -32,9 +75,17 @@ public class SecurityConfig {
                     .permitAll()
                     .requestMatchers("/api/**")
                     .authenticated()
+                    // The load balancer probes health; the rest is for admins (the Prometheus
+                    // scrape has its own chain above)
+                    .requestMatchers("/actuator/health", "/actuator/health/**")
+                    .permitAll()
+                    .requestMatchers("/actuator/**")
+                    .hasAuthority("ROLE_ADMIN")
                     .anyRequest()
                     .permitAll())
-        .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()))
+        .oauth2ResourceServer(
+            oauth2 ->
+                oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(new AuthenticatedUserConverter())))
         .sessionManagement(
             session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
@@ -1,13 +1,29 @@
 package com.example.backend.config;
 
+import com.example.backend.controller.AuthenticatedUserArgumentResolver;
+import com.example.backend.controller.SubmissionValuesArgumentResolver;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+  private final SubmissionValuesArgumentResolver submissionValuesArgumentResolver;
+  private final AuthenticatedUserArgumentResolver authenticatedUserArgumentResolver;
+
+  @Override
+  public void addArgumentResolvers(
+      @org.springframework.lang.NonNull List<HandlerMethodArgumentResolver> resolvers) {
+    resolvers.add(submissionValuesArgumentResolver);
+    resolvers.add(authenticatedUserArgumentResolver);
+  }
+
   @Override
   public void addResourceHandlers(
       @org.springframework.lang.NonNull ResourceHandlerRegistry registry) {
@@ -0,0 +1,39 @@
+package com.example.backend.controller;
+
+import com.example.backend.config.AuthenticatedUserToken;
+import com.example.backend.util.AuthenticatedUser;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Supplies the {@link AuthenticatedUser} of the current request to controller methods. It is
+ * normally read from the {@link AuthenticatedUserToken}; other authentications, such as those set
+ * up by tests, are converted on the spot.
+ */
+@Component
+public class AuthenticatedUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+  @Override
+  public boolean supportsParameter(@NonNull MethodParameter parameter) {
+    return parameter.getParameterType() == AuthenticatedUser.class;
+  }
+
+  @Override
+  public AuthenticatedUser resolveArgument(
+      @NonNull MethodParameter parameter,
+      ModelAndViewContainer mavContainer,
+      @NonNull NativeWebRequest webRequest,
+      WebDataBinderFactory binderFactory) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication instanceof AuthenticatedUserToken token
+        ? token.getUser()
+        : AuthenticatedUser.of(authentication);
+  }
+}
@@ -2,16 +2,28 @@ package com.example.backend.controller;
 
 import com.example.backend.dto.FormDto;
 import com.example.backend.dto.FormListItemDto;
+import com.example.backend.dto.FormListPageDto;
+import com.example.backend.dto.FormStatsDto;
+import com.example.backend.entity.Form;
 import com.example.backend.mapper.FormMapper;
+import com.example.backend.service.FormBodyCache;
 import com.example.backend.service.FormService;
+import com.example.backend.service.FormStatsService;
+import com.example.backend.service.FormVersions;
+import com.example.backend.service.SubmissionFeed;
+import com.example.backend.util.ETagUtils;
 import jakarta.validation.Valid;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.log.InterfaceLog;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/forms")
@@ -20,21 +32,84 @@ import org.springframework.web.bind.annotation.*;
 @InterfaceLog
 public class FormController {
 
+  private static final int MAX_PAGE_SIZE = 500;
+
   private final FormService formService;
+  private final FormStatsService formStatsService;
   private final FormMapper formMapper;
+  private final FormBodyCache formBodyCache;
+  private final FormVersions formVersions;
+  private final SubmissionFeed submissionFeed;
 
   @GetMapping
   @InterfaceLog
   @PreAuthorize("isAuthenticated()")
-  public List<FormListItemDto> getForms() {
-    return formService.getForms();
+  public FormListPageDto getForms(
+      @RequestParam(required = false) String title,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "50") int size) {
+    if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException(
+          "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+    }
+    Slice<FormListItemDto> slice = formService.getForms(title, page, size);
+    return new FormListPageDto(slice.getContent(), slice.hasNext());
   }
 
   @GetMapping("/{key}")
   @InterfaceLog
   @PreAuthorize("isAuthenticated()")
-  public FormDto getForm(@PathVariable String key) {
-    return formMapper.toDto(formService.getForm(key));
+  public ResponseEntity<byte[]> getForm(
+      @PathVariable String key,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+          String acceptEncoding) {
+    // The body is serialized once per form version; the request only picks a variant.
+    // An ETag on a GET response makes Spring answer a matching If-None-Match with 304
+    FormBodyCache.FormBody body = formBodyCache.get(formService.getForm(key));
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (body.gzip() != null && FormBodyCache.acceptsGzip(acceptEncoding)) {
+      return response
+          .header(HttpHeaders.CONTENT_ENCODING, FormBodyCache.GZIP)
+          .eTag(body.gzipETag())
+          .body(body.gzip());
+    }
+    return response.eTag(body.eTag()).body(body.json());
+  }
+
+  /** The definition at an earlier version, as submissions pinned to that version were made. */
+  @GetMapping("/{key}/versions/{version}")
+  @InterfaceLog
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<FormDto> getFormVersion(
+      @PathVariable String key, @PathVariable int version) {
+    Form form = formVersions.get(key, version);
+    return ResponseEntity.ok()
+        .eTag(ETagUtils.toETag(form.getId(), form.getVersion()))
+        .body(formMapper.toDto(form));
+  }
+
+  @GetMapping("/{key}/stats")
+  @InterfaceLog
+  @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+  public FormStatsDto getFormStats(
+      @PathVariable String key, @RequestParam(defaultValue = "day") String bucket) {
+    return formStatsService.getStats(key, FormStatsService.Bucket.parse(bucket));
+  }
+
+  /**
+   * Server-sent {@code submission} events carrying each new submission of the form, so a
+   * dashboard is pushed what it would otherwise poll {@code GET /api/form-data} for.
+   */
+  @GetMapping(path = "/{key}/submissions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @InterfaceLog
+  @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+  public SseEmitter streamSubmissions(@PathVariable String key) {
+    // Resolve the form before subscribing so an unknown key still yields a 404
+    formService.getForm(key);
+    return submissionFeed.subscribe(key);
   }
 
   @PostMapping
@@ -51,8 +126,16 @@ public class FormController {
   @PutMapping("/{key}")
   @InterfaceLog
   @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-  public FormDto updateForm(@PathVariable String key, @Valid @RequestBody FormDto dto) {
-    return formMapper.toDto(formService.updateForm(key, formMapper.toEntity(dto)));
+  public ResponseEntity<FormDto> updateForm(
+      @PathVariable String key,
+      @Valid @RequestBody FormDto dto,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    Form form =
+        formService.updateForm(
+            key, formMapper.toEntity(dto), ETagUtils.parseIfMatchWithId(ifMatch));
+    return ResponseEntity.ok()
+        .eTag(ETagUtils.toETag(form.getId(), form.getVersion()))
+        .body(formMapper.toDto(form));
   }
 
   @DeleteMapping("/{key}")
@@ -1,23 +1,47 @@
 package com.example.backend.controller;
 
-import static com.example.backend.util.SecurityUtils.getUsername;
-import static com.example.backend.util.SecurityUtils.isAdmin;
-
+import com.example.backend.dto.FormDataBatchItemDto;
+import com.example.backend.dto.FormDataBatchResultDto;
 import com.example.backend.dto.FormDataDto;
+import com.example.backend.dto.FormDataFilter;
+import com.example.backend.dto.FormDataPageDto;
+import com.example.backend.dto.FormDataQueryDto;
+import com.example.backend.dto.SubmissionReceiptDto;
+import com.example.backend.entity.Form;
 import com.example.backend.entity.FormData;
+import com.example.backend.entity.SubmissionValues;
 import com.example.backend.mapper.FormDataMapper;
+import com.example.backend.metrics.FormMetrics;
+import com.example.backend.service.FormDataExportService;
 import com.example.backend.service.FormDataService;
+import com.example.backend.service.FormService;
+import com.example.backend.service.SubmissionWriteBehindQueue;
+import com.example.backend.util.AuthenticatedUser;
+import com.example.backend.util.CursorUtils;
+import com.example.backend.util.ETagUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.Callable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.log.InterfaceLog;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/form-data")
@@ -26,63 +50,247 @@ import org.springframework.web.bind.annotation.*;
 @InterfaceLog
 public class FormDataController {
 
+  private static final int MAX_PAGE_SIZE = 500;
+  private static final int MAX_BATCH_SIZE = 1000;
+
   private final FormDataService formDataService;
+  private final FormDataExportService formDataExportService;
+  private final FormService formService;
+  private final Optional<SubmissionWriteBehindQueue> writeBehindQueue;
+  private final FormMetrics formMetrics;
   private final FormDataMapper formDataMapper;
 
+  /**
+   * Stores the submission and returns it, or, when write-behind mode is enabled, queues it and
+   * returns {@code 202 Accepted} with a tracking id to poll.
+   */
   @PostMapping("/{key}")
   @InterfaceLog
   @PreAuthorize("isAuthenticated()")
-  public FormDataDto submitForm(
+  public ResponseEntity<?> submitForm(
       @PathVariable String key,
-      @RequestBody Map<String, Object> data,
-      @AuthenticationPrincipal Jwt jwt) {
-    FormData formData = new FormData(key, data, getUsername(jwt));
-    return formDataMapper.toDto(formDataService.createFormSubmission(key, formData));
+      SubmissionValues data,
+      AuthenticatedUser user,
+      HttpServletRequest request) {
+    FormData formData = new FormData(key, data, user.username());
+    if (writeBehindQueue.isPresent()) {
+      SubmissionReceiptDto receipt = writeBehindQueue.get().accept(key, formData);
+      formMetrics.recordPayloadSize(key, request.getContentLengthLong());
+      return ResponseEntity.accepted()
+          .location(URI.create("/api/form-data/tracking/" + receipt.getTrackingId()))
+          .body(receipt);
+    }
+    FormData saved = formDataService.createFormSubmission(key, formData);
+    formMetrics.recordPayloadSize(key, request.getContentLengthLong());
+    return ResponseEntity.ok(formDataMapper.toDto(saved));
+  }
+
+  @GetMapping("/tracking/{trackingId}")
+  @InterfaceLog
+  @PreAuthorize("isAuthenticated()")
+  public SubmissionReceiptDto getSubmissionStatus(
+      @PathVariable String trackingId, AuthenticatedUser user) {
+    return writeBehindQueue
+        .flatMap(queue -> queue.getStatus(trackingId, user.username()))
+        .orElseThrow(() -> new NoSuchElementException("Unknown tracking id: " + trackingId));
+  }
+
+  @PostMapping("/batch")
+  @InterfaceLog
+  @PreAuthorize("isAuthenticated()")
+  public List<FormDataBatchResultDto> submitForms(
+      @RequestBody List<FormDataBatchItemDto> items, AuthenticatedUser user) {
+    if (items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException(
+          "A batch must contain between 1 and " + MAX_BATCH_SIZE + " submissions");
+    }
+    return formDataService.createFormSubmissions(items, user.username());
   }
 
   @PutMapping("/submission/{id}")
   @InterfaceLog
   @PreAuthorize("isAuthenticated()")
-  public FormDataDto updateSubmission(
+  public ResponseEntity<FormDataDto> updateSubmission(
       @PathVariable Long id,
-      @RequestBody Map<String, Object> data,
-      @AuthenticationPrincipal Jwt jwt) {
-    String username = getUsername(jwt);
-    return formDataMapper.toDto(formDataService.updateFormSubmission(id, data, username));
+      SubmissionValues data,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      AuthenticatedUser user) {
+    FormData updated =
+        formDataService.updateFormSubmission(
+            id, data, user.username(), ETagUtils.parseIfMatch(ifMatch));
+    return ResponseEntity.ok()
+        .eTag(ETagUtils.toETag(updated.getVersion()))
+        .body(formDataMapper.toDto(updated));
   }
 
   @GetMapping
   @InterfaceLog
   @PreAuthorize("isAuthenticated()")
-  public List<FormDataDto> getSubmissions(
-      @AuthenticationPrincipal Jwt jwt, Authentication authentication) {
-    if (isAdmin(authentication)) {
-      return formDataMapper.mapList(formDataService.getFormSubmissions());
-    } else {
-      return formDataMapper.mapList(formDataService.getFormSubmissionsByOwner(getUsername(jwt)));
+  public FormDataPageDto getSubmissions(
+      @RequestParam(required = false) String formKey,
+      @RequestParam(required = false) String submittedBy,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime to,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int limit,
+      AuthenticatedUser user) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    FormDataFilter filter = ownerScopedFilter(formKey, submittedBy, from, to, user);
+    return toPage(formDataService.getFormSubmissionPage(filter, CursorUtils.decode(cursor), limit));
+  }
+
+  /**
+   * All submissions matching the filters of {@code GET /api/form-data} as one NDJSON stream of
+   * {@link FormDataDto}, newest first, read from the database as fast as the client consumes it.
+   * Only {@code submission.stream.max-concurrent} streams are served at once; beyond that the
+   * request is refused with 429.
+   */
+  @GetMapping("/stream")
+  @InterfaceLog
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<StreamingResponseBody> streamSubmissions(
+      @RequestParam(required = false) String formKey,
+      @RequestParam(required = false) String submittedBy,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime to,
+      AuthenticatedUser user,
+      HttpServletRequest request) {
+    FormDataFilter filter = ownerScopedFilter(formKey, submittedBy, from, to, user);
+    StreamingResponseBody body =
+        limited(request, outputStream -> formDataExportService.stream(filter, outputStream));
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(FormDataExportService.Format.NDJSON.getContentType()))
+        .body(body);
+  }
+
+  /** Filters submissions of one form by their answers; paged like {@code GET /api/form-data}. */
+  @PostMapping("/query")
+  @InterfaceLog
+  @PreAuthorize("isAuthenticated()")
+  public FormDataPageDto querySubmissions(
+      @RequestBody FormDataQueryDto query,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int limit,
+      AuthenticatedUser user) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    if (query.getPredicates() == null || query.getPredicates().isEmpty()) {
+      throw new IllegalArgumentException("At least one predicate is required");
     }
+    FormDataFilter filter =
+        FormDataFilter.builder()
+            .formKey(query.getFormKey())
+            .submittedBy(user.ownerFilter())
+            .predicates(query.getPredicates())
+            .build();
+    return toPage(formDataService.queryFormSubmissions(filter, CursorUtils.decode(cursor), limit));
+  }
+
+  /** The listing filters; users other than admins only ever see their own submissions. */
+  private static FormDataFilter ownerScopedFilter(
+      String formKey,
+      String submittedBy,
+      LocalDateTime from,
+      LocalDateTime to,
+      AuthenticatedUser user) {
+    return FormDataFilter.builder()
+        .formKey(formKey)
+        .submittedBy(user.admin() ? submittedBy : user.username())
+        .submittedFrom(from)
+        .submittedTo(to)
+        .build();
+  }
+
+  /**
+   * Runs {@code body} in one of the stream slots of {@link FormDataExportService#acquireStream}.
+   * The slot is taken before the response starts, so a refusal is still a 429. It is given back
+   * when the body finishes, and also when the async request completes, in case the body never ran:
+   * the client went away before dispatch, the request timed out or the executor rejected it.
+   */
+  private StreamingResponseBody limited(HttpServletRequest request, StreamingResponseBody body) {
+    Runnable release = formDataExportService.acquireStream();
+    WebAsyncUtils.getAsyncManager(request)
+        .registerCallableInterceptor(
+            StreamingResponseBody.class,
+            new CallableProcessingInterceptor() {
+              @Override
+              public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                release.run();
+              }
+            });
+    return outputStream -> {
+      try {
+        body.writeTo(outputStream);
+      } finally {
+        release.run();
+      }
+    };
+  }
+
+  private FormDataPageDto toPage(Window<FormData> window) {
+    String nextCursor =
+        window.hasNext()
+            ? CursorUtils.encode((KeysetScrollPosition) window.positionAt(window.size() - 1))
+            : null;
+    return new FormDataPageDto(formDataMapper.mapList(window.getContent()), nextCursor);
+  }
+
+  /**
+   * Every submission of a form as NDJSON or CSV. An export holds a database connection just like
+   * {@code GET /api/form-data/stream} and shares its slots.
+   */
+  @GetMapping("/{key}/export")
+  @InterfaceLog
+  @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+  public ResponseEntity<StreamingResponseBody> exportSubmissions(
+      @PathVariable String key,
+      @RequestParam(defaultValue = "ndjson") String format,
+      HttpServletRequest request) {
+    FormDataExportService.Format exportFormat = FormDataExportService.Format.parse(format);
+    // Resolve the form before streaming so an unknown key still yields a 404
+    Form form = formService.getForm(key);
+    StreamingResponseBody body =
+        limited(
+            request,
+            outputStream -> formDataExportService.export(form, exportFormat, outputStream));
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment()
+                .filename(key + "." + exportFormat.getExtension())
+                .build()
+                .toString())
+        .body(body);
   }
 
   @GetMapping("/submission/{id}")
   @InterfaceLog
   @PreAuthorize("isAuthenticated()")
-  public FormDataDto getSubmissionById(
-      @PathVariable Long id, @AuthenticationPrincipal Jwt jwt, Authentication authentication) {
-    String username = getUsername(jwt);
+  public ResponseEntity<FormDataDto> getSubmissionById(
+      @PathVariable Long id, AuthenticatedUser user) {
+    // Ownership is part of the lookup, so someone else's submission is indistinguishable from a
+    // missing one and a 304 never confirms it exists
     FormData submission =
         formDataService
-            .getFormSubmissionById(id)
+            .getFormSubmissionById(id, user.ownerFilter())
             .orElseThrow(() -> new NoSuchElementException("Form submission not found: " + id));
-    if (!submission.getSubmittedBy().equals(username) && !isAdmin(authentication)) {
-      throw new SecurityException("You are not authorized to view this submission");
-    }
-    return formDataMapper.toDto(submission);
+    return ResponseEntity.ok()
+        .eTag(ETagUtils.toETag(submission.getVersion()))
+        .body(formDataMapper.toDto(submission));
   }
 
   @DeleteMapping("/submission/{id}")
   @InterfaceLog
   @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-  public void deleteSubmission(@PathVariable Long id, @AuthenticationPrincipal Jwt jwt) {
-    formDataService.deleteFormSubmission(id, getUsername(jwt));
+  public void deleteSubmission(@PathVariable Long id, AuthenticatedUser user) {
+    formDataService.deleteFormSubmission(id, user.username());
   }
 }
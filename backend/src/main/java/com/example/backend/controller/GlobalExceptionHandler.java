@@ -1,8 +1,14 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.ValidationErrorDto;
+import com.example.backend.service.PreconditionFailedException;
+import com.example.backend.service.SubmissionQueueFullException;
+import com.example.backend.service.TooManyStreamsException;
+import com.example.backend.validation.SubmissionValidationException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -53,6 +59,15 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(pd);
   }
 
+  @ExceptionHandler(SubmissionValidationException.class)
+  public ResponseEntity<ProblemDetail> handleSubmissionValidationException(
+      SubmissionValidationException ex) {
+    log.warn("Submission validation failed: {}", ex.getMessage());
+    ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Validation failed");
+    pd.setProperty("errors", ex.getErrors());
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(pd);
+  }
+
   @ExceptionHandler(NoResourceFoundException.class)
   public ResponseEntity<ProblemDetail> handleNoResourceFoundException(NoResourceFoundException ex) {
     ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
@@ -72,6 +87,43 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.FORBIDDEN).body(pd);
   }
 
+  @ExceptionHandler(SubmissionQueueFullException.class)
+  public ResponseEntity<ProblemDetail> handleSubmissionQueueFullException(
+      SubmissionQueueFullException ex) {
+    log.warn("SubmissionQueueFullException: {}", ex.getMessage());
+    ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(pd);
+  }
+
+  @ExceptionHandler(TooManyStreamsException.class)
+  public ResponseEntity<ProblemDetail> handleTooManyStreamsException(TooManyStreamsException ex) {
+    log.warn("TooManyStreamsException: {}", ex.getMessage());
+    ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, "5")
+        .body(pd);
+  }
+
+  @ExceptionHandler(PreconditionFailedException.class)
+  public ResponseEntity<ProblemDetail> handlePreconditionFailedException(
+      PreconditionFailedException ex) {
+    log.warn("PreconditionFailedException: {}", ex.getMessage());
+    ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(pd);
+  }
+
+  /** Another transaction updated the row between our read and our versioned UPDATE. */
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<ProblemDetail> handleOptimisticLockingFailureException(
+      OptimisticLockingFailureException ex) {
+    log.warn("OptimisticLockingFailureException: {}", ex.getMessage());
+    ProblemDetail pd = ProblemDetail.forStatusAndDetail(
+        HttpStatus.CONFLICT, "The resource was modified concurrently, reload and retry");
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(pd);
+  }
+
   @ExceptionHandler(IllegalStateException.class)
   public ResponseEntity<ProblemDetail> handleIllegalStateException(IllegalStateException ex) {
     log.warn("IllegalStateException: {}", ex.getMessage());
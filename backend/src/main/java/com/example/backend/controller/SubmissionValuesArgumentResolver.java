@@ -0,0 +1,61 @@
+package com.example.backend.controller;
+
+import com.example.backend.entity.SubmissionValues;
+import com.example.backend.service.FormService;
+import com.example.backend.validation.SubmissionValidator;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerMapping;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Reads a {@link SubmissionValues} parameter straight from the request body. When the path names a
+ * form ({@code {key}}), answers go directly into that form's slots; otherwise into the order of
+ * the document.
+ */
+@Component
+@RequiredArgsConstructor
+public class SubmissionValuesArgumentResolver implements HandlerMethodArgumentResolver {
+
+  private final FormService formService;
+  private final SubmissionValidator submissionValidator;
+  private final ObjectMapper objectMapper;
+
+  @Override
+  public boolean supportsParameter(@NonNull MethodParameter parameter) {
+    return parameter.getParameterType() == SubmissionValues.class;
+  }
+
+  @Override
+  public SubmissionValues resolveArgument(
+      @NonNull MethodParameter parameter,
+      ModelAndViewContainer mavContainer,
+      @NonNull NativeWebRequest webRequest,
+      WebDataBinderFactory binderFactory)
+      throws IOException {
+    HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+    @SuppressWarnings("unchecked")
+    Map<String, String> pathVariables =
+        (Map<String, String>)
+            request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+    String formKey = pathVariables != null ? pathVariables.get("key") : null;
+    SubmissionValues.Layout layout =
+        formKey != null ? submissionValidator.layoutFor(formService.getForm(formKey)) : null;
+    try (JsonParser parser = objectMapper.createParser(request.getInputStream())) {
+      return SubmissionValues.read(parser, layout);
+    } catch (JacksonException e) {
+      throw new IllegalArgumentException("Malformed submission: " + e.getOriginalMessage());
+    }
+  }
+}
@@ -1,11 +1,13 @@
 package com.example.backend.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Value;
 
 @Value
 @Builder
+@AllArgsConstructor // public, so Jackson can use it as the creator
 public class FieldOptionDto {
 
   @NotBlank(message = "Option value is required")
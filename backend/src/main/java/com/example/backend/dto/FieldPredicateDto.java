@@ -0,0 +1,37 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A condition on one answer of a submission. {@code value} is used by {@code equals} and {@code
+ * contains}, {@code values} by {@code in}, and {@code min}/{@code max} (inclusive, either may be
+ * omitted) by {@code range}. Values are JSON scalars: strings, numbers or booleans.
+ */
+@Value
+@Builder
+@AllArgsConstructor // public, so Jackson can use it as the creator
+public class FieldPredicateDto {
+
+  public enum Op {
+    @JsonProperty("equals")
+    EQUALS,
+    @JsonProperty("in")
+    IN,
+    @JsonProperty("range")
+    RANGE,
+    /** The answer is an array (e.g. a checkbox group) that includes {@code value}. */
+    @JsonProperty("contains")
+    CONTAINS
+  }
+
+  String field;
+  Op op;
+  Object value;
+  List<Object> values;
+  Object min;
+  Object max;
+}
@@ -0,0 +1,10 @@
+package com.example.backend.dto;
+
+import com.example.backend.entity.SubmissionValues;
+import lombok.Value;
+
+@Value
+public class FormDataBatchItemDto {
+  String formKey;
+  SubmissionValues data;
+}
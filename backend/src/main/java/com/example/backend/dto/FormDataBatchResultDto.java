@@ -0,0 +1,11 @@
+package com.example.backend.dto;
+
+import java.util.List;
+import lombok.Value;
+
+@Value
+public class FormDataBatchResultDto {
+  int index; // position of the item in the request array
+  Long id; // null when the item was rejected
+  List<ValidationErrorDto> errors; // empty when the item was stored
+}
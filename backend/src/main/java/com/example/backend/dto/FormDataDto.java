@@ -1,8 +1,8 @@
 package com.example.backend.dto;
 
+import com.example.backend.entity.SubmissionValues;
 import java.io.Serializable;
 import java.time.LocalDateTime;
-import java.util.Map;
 import lombok.NonNull;
 import lombok.Value;
 
@@ -10,7 +10,9 @@ import lombok.Value;
 public class FormDataDto implements Serializable {
   Long id;
   @NonNull String formKey;
-  @NonNull Map<String, Object> data;
+  Integer formVersion;
+  @NonNull SubmissionValues data;
   LocalDateTime submittedAt;
   String submittedBy;
+  Long version;
 }
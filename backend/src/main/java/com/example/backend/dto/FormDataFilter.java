@@ -0,0 +1,16 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder(toBuilder = true)
+public class FormDataFilter {
+  String formKey;
+  String submittedBy;
+  LocalDateTime submittedFrom; // inclusive
+  LocalDateTime submittedTo; // exclusive
+  List<FieldPredicateDto> predicates; // on the submitted answers, all must hold
+}
@@ -0,0 +1,10 @@
+package com.example.backend.dto;
+
+import java.util.List;
+import lombok.Value;
+
+@Value
+public class FormDataPageDto {
+  List<FormDataDto> items;
+  String nextCursor; // null when this is the last page
+}
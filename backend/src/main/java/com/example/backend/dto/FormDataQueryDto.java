@@ -0,0 +1,11 @@
+package com.example.backend.dto;
+
+import java.util.List;
+import lombok.Value;
+
+/** Body of {@code POST /api/form-data/query}; all predicates must hold. */
+@Value
+public class FormDataQueryDto {
+  String formKey;
+  List<FieldPredicateDto> predicates;
+}
@@ -5,11 +5,13 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
 import java.util.List;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Value;
 
 @Value
 @Builder
+@AllArgsConstructor // public, so Jackson can use it as the creator
 public class FormDto {
 
   Long id;
@@ -28,4 +30,7 @@ public class FormDto {
   @NotEmpty(message = "At least one field is required")
   @Valid
   List<FieldDto> fields;
+
+  /** Read-only; sent back as the {@code ETag} and expected in {@code If-Match} on updates. */
+  Long version;
 }
@@ -0,0 +1,10 @@
+package com.example.backend.dto;
+
+import java.util.List;
+import lombok.Value;
+
+@Value
+public class FormListPageDto {
+  List<FormListItemDto> items;
+  boolean hasNext;
+}
@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class FormStatsDto {
+  String formKey;
+  long submissionCount;
+  String bucket;
+  List<TimeBucketCountDto> submissionsOverTime;
+  /** Field name to option value to count, for fields with options, in definition order. */
+  Map<String, Map<String, Long>> optionCounts;
+  /** Share of submissions (0..1) that answered each optional field. */
+  Map<String, Double> completionRates;
+}
@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import java.util.List;
+import lombok.Value;
+
+@Value
+public class SubmissionReceiptDto {
+
+  public enum Status {
+    QUEUED,
+    PERSISTED,
+    FAILED
+  }
+
+  String trackingId;
+  Status status;
+  Long id; // set once the submission is persisted
+  List<ValidationErrorDto> errors; // set when persisting failed
+}
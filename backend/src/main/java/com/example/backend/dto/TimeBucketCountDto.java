@@ -0,0 +1,10 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+import lombok.Value;
+
+@Value
+public class TimeBucketCountDto {
+  LocalDateTime start;
+  long count;
+}
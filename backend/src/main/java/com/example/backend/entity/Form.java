@@ -40,4 +40,12 @@ public class Form {
   @UpdateTimestamp
   @Column(nullable = false)
   private LocalDateTime updatedAt;
+
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
+  // Set by V9 for submissions whose form had been deleted; such a form is never listed or served
+  @Column(nullable = false)
+  private boolean retired;
 }
@@ -0,0 +1,51 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import lombok.*;
+
+/**
+ * Pre-aggregated submission count for one form, maintained as submissions are written so that
+ * statistics are read from a handful of rows instead of scanning {@code form_data}.
+ */
+@Entity
+@Table(name = "form_counter")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormCounter {
+
+  public enum Kind {
+    /** Submissions per day; {@code fieldName} is empty, {@code itemValue} the ISO date. */
+    DAY,
+    /** Submissions choosing {@code itemValue} for the option field {@code fieldName}. */
+    OPTION,
+    /** Submissions with a non-empty answer for {@code fieldName}; {@code itemValue} is empty. */
+    ANSWERED
+  }
+
+  @Embeddable
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+
+    @Column(nullable = false)
+    private String formKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Kind kind;
+
+    @Column(nullable = false)
+    private String fieldName;
+
+    @Column(nullable = false)
+    private String itemValue;
+  }
+
+  @EmbeddedId private Key id;
+
+  @Column(nullable = false)
+  private long total;
+}
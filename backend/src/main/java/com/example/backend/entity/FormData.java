@@ -10,29 +10,50 @@ import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "form_data")
+@EntityListeners(SubmitterRegistration.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@RequiredArgsConstructor
 public class FormData {
+  // A pooled sequence instead of IDENTITY lets Hibernate batch inserts
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "form_data_seq")
+  @SequenceGenerator(name = "form_data_seq", sequenceName = "form_data_id_seq", allocationSize = 50)
   private Long id;
 
-  @Column(nullable = false)
+  // Stored as ids; the converters translate through SubmissionKeyDictionary
+  @Column(name = "form_id", nullable = false)
+  @Convert(converter = FormKeyConverter.class)
   @NonNull
   private String formKey;
 
+  // The FormVersion of the definition the answers were validated against
+  @Column(name = "form_version", nullable = false)
+  private Integer formVersion;
+
   @JdbcTypeCode(SqlTypes.JSON)
   @Column(nullable = false)
+  @Convert(converter = SubmissionValuesConverter.class)
   @NonNull
-  private Map<String, Object> data;
+  private SubmissionValues data;
 
   @CreationTimestamp
   @Column(nullable = false, updatable = false)
   private LocalDateTime submittedAt;
 
-  @Column(nullable = false)
+  @Column(name = "submitter_id", nullable = false)
+  @Convert(converter = SubmitterConverter.class)
   @NonNull
   private String submittedBy;
+
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
+  public FormData(
+      @NonNull String formKey, @NonNull Map<String, ?> data, @NonNull String submittedBy) {
+    this.formKey = formKey;
+    this.data = SubmissionValues.copyOf(data);
+    this.submittedBy = submittedBy;
+  }
 }
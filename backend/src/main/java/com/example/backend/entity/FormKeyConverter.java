@@ -0,0 +1,24 @@
+package com.example.backend.entity;
+
+import com.example.backend.repository.SubmissionKeyDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+
+/** Stores {@link FormData#getFormKey()} as {@code form_data.form_id}. */
+@Converter
+@RequiredArgsConstructor
+public class FormKeyConverter implements AttributeConverter<String, Long> {
+
+  private final SubmissionKeyDictionary dictionary;
+
+  @Override
+  public Long convertToDatabaseColumn(String formKey) {
+    return formKey == null ? null : dictionary.formId(formKey);
+  }
+
+  @Override
+  public String convertToEntityAttribute(Long formId) {
+    return formId == null ? null : dictionary.formKey(formId);
+  }
+}
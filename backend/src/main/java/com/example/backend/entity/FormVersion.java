@@ -0,0 +1,82 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Snapshot of a form definition as it was at one {@link Form#getVersion() version}. Written once
+ * when the definition is created or changed and never updated, so every {@link FormData} stays
+ * readable against the fields it was submitted for.
+ */
+@Entity
+@Table(name = "form_version")
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormVersion {
+
+  @Embeddable
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+
+    @Column(name = "form_id", nullable = false)
+    private Long formId;
+
+    @Column(nullable = false)
+    private Integer version;
+  }
+
+  @EmbeddedId private Key id;
+
+  @Column(nullable = false)
+  private String title;
+
+  @Column private String description;
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(nullable = false)
+  private List<Field> fields;
+
+  @CreationTimestamp
+  @Column(nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  /** Snapshot of the current state of a saved and flushed {@code form}. */
+  public static FormVersion of(Form form) {
+    return new FormVersion(
+        new Key(form.getId(), numberOf(form)),
+        form.getTitle(),
+        form.getDescription(),
+        List.copyOf(form.getFields()),
+        null);
+  }
+
+  /** The version number submissions of {@code form} are pinned to. */
+  public static int numberOf(Form form) {
+    return form.getVersion() == null ? 0 : Math.toIntExact(form.getVersion());
+  }
+
+  /** A detached, read-only view of this snapshot as a {@link Form} of {@code formKey}. */
+  public Form toForm(String formKey) {
+    return Form.builder()
+        .id(id.getFormId())
+        .formKey(formKey)
+        .title(title)
+        .description(description)
+        .fields(fields)
+        .createdAt(createdAt)
+        .updatedAt(createdAt)
+        .version((long) id.getVersion())
+        .build();
+  }
+}
@@ -0,0 +1,510 @@
+package com.example.backend.entity;
+
+import com.github.benmanes.caffeine.cache.Interner;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.exc.StreamReadException;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * The answers of one submission, stored by position in a shared {@link Layout}. Every field has a
+ * one-byte tag and a slot in a {@code long[]} (whole numbers, decimals, option indexes, option sets
+ * and dates) or an {@code Object[]} (text and anything else), so a submission costs a few small
+ * arrays instead of a hash map with an entry and a boxed value per answer, and option answers
+ * share the layout's strings.
+ *
+ * <p>It is a read-only {@link Map}, so validation, counters and export read it as before. JSON is
+ * read and written token by token, without an intermediate map.
+ */
+@JsonSerialize(using = SubmissionValues.Serializer.class)
+@JsonDeserialize(using = SubmissionValues.Deserializer.class)
+public final class SubmissionValues extends AbstractMap<String, Object> {
+
+  private static final Interner<Layout> LAYOUTS = Interner.newWeakInterner();
+
+  private static final byte ABSENT = 0;
+  private static final byte NULL = 1;
+  private static final byte TEXT = 2;
+  private static final byte INT = 3;
+  private static final byte LONG = 4;
+  private static final byte DOUBLE = 5;
+  private static final byte TRUE = 6;
+  private static final byte FALSE = 7;
+  private static final byte OPTION = 8;
+  private static final byte OPTIONS = 9;
+  private static final byte DATE = 10;
+  private static final byte OTHER = 11;
+
+  private final Layout layout;
+  private final byte[] tags;
+  // Either array is null when no slot needs it
+  private final long[] bits;
+  private final Object[] refs;
+  // Answers to names the layout does not know, null when there are none
+  private final Map<String, Object> extras;
+  private final int size;
+
+  private SubmissionValues(
+      Layout layout,
+      byte[] tags,
+      long[] bits,
+      Object[] refs,
+      Map<String, Object> extras,
+      int size) {
+    this.layout = layout;
+    this.tags = tags;
+    this.bits = bits;
+    this.refs = refs;
+    this.extras = extras;
+    this.size = size;
+  }
+
+  /** {@code data} itself if it already is compact, otherwise a copy in its iteration order. */
+  public static SubmissionValues copyOf(Map<String, ?> data) {
+    if (data instanceof SubmissionValues values) {
+      return values;
+    }
+    Builder builder = new Builder(null);
+    data.forEach(builder::put);
+    return builder.build();
+  }
+
+  /**
+   * Reads a JSON object, positioned at or before its start. With a {@code layout} answers are laid
+   * out in its field order and encoded with its options and date fields, otherwise in the order of
+   * the document.
+   */
+  public static SubmissionValues read(JsonParser parser, Layout layout) {
+    JsonToken start = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+    if (start != JsonToken.START_OBJECT) {
+      throw new StreamReadException(parser, "A submission must be a JSON object");
+    }
+    Builder builder = new Builder(layout);
+    for (String name = parser.nextName(); name != null; name = parser.nextName()) {
+      int position = builder.position(name);
+      JsonToken token = parser.nextToken();
+      if (position < 0) {
+        builder.extra(name, parser.readValueAs(Object.class));
+        continue;
+      }
+      switch (token) {
+        case VALUE_STRING -> builder.text(position, parser.getString());
+        case VALUE_NUMBER_INT -> {
+          switch (parser.getNumberType()) {
+            case INT -> builder.set(position, INT, parser.getIntValue(), null);
+            case LONG -> builder.set(position, LONG, parser.getLongValue(), null);
+            default -> builder.set(position, OTHER, 0, parser.getNumberValue());
+          }
+        }
+        case VALUE_NUMBER_FLOAT ->
+            builder.set(
+                position, DOUBLE, Double.doubleToRawLongBits(parser.getDoubleValue()), null);
+        case VALUE_TRUE -> builder.set(position, TRUE, 0, null);
+        case VALUE_FALSE -> builder.set(position, FALSE, 0, null);
+        case VALUE_NULL -> builder.set(position, NULL, 0, null);
+        default -> builder.put(position, parser.readValueAs(Object.class));
+      }
+    }
+    return builder.build();
+  }
+
+  /** Writes the answers as a JSON object, fields in layout order followed by unknown names. */
+  public void write(JsonGenerator generator) {
+    generator.writeStartObject();
+    for (int i = 0; i < tags.length; i++) {
+      if (tags[i] == ABSENT) {
+        continue;
+      }
+      generator.writeName(layout.slots[i].name());
+      switch (tags[i]) {
+        case NULL -> generator.writeNull();
+        case TEXT -> generator.writeString((String) refs[i]);
+        case INT -> generator.writeNumber((int) bit(i));
+        case LONG -> generator.writeNumber(bit(i));
+        case DOUBLE -> generator.writeNumber(Double.longBitsToDouble(bit(i)));
+        case TRUE -> generator.writeBoolean(true);
+        case FALSE -> generator.writeBoolean(false);
+        case OPTION -> generator.writeString(layout.option(i, (int) bit(i)));
+        case OPTIONS -> {
+          generator.writeStartArray();
+          for (long mask = bit(i); mask != 0; mask &= mask - 1) {
+            generator.writeString(layout.option(i, Long.numberOfTrailingZeros(mask)));
+          }
+          generator.writeEndArray();
+        }
+        case DATE -> generator.writeString(LocalDate.ofEpochDay(bit(i)).toString());
+        default -> generator.writePOJO(refs[i]);
+      }
+    }
+    if (extras != null) {
+      extras.forEach(generator::writePOJOProperty);
+    }
+    generator.writeEndObject();
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    int position = key instanceof String name ? layout.position(name) : -1;
+    return position >= 0
+        ? tags[position] != ABSENT
+        : extras != null && extras.containsKey(key);
+  }
+
+  @Override
+  public Object get(Object key) {
+    int position = key instanceof String name ? layout.position(name) : -1;
+    if (position >= 0) {
+      return valueAt(position);
+    }
+    return extras != null ? extras.get(key) : null;
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super String, ? super Object> action) {
+    for (int i = 0; i < tags.length; i++) {
+      if (tags[i] != ABSENT) {
+        action.accept(layout.slots[i].name(), valueAt(i));
+      }
+    }
+    if (extras != null) {
+      extras.forEach(action);
+    }
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public Iterator<Entry<String, Object>> iterator() {
+        Iterator<Entry<String, Object>> rest =
+            extras != null ? extras.entrySet().iterator() : null;
+        return new Iterator<>() {
+          private int next = advance(0);
+
+          private int advance(int from) {
+            while (from < tags.length && tags[from] == ABSENT) {
+              from++;
+            }
+            return from;
+          }
+
+          @Override
+          public boolean hasNext() {
+            return next < tags.length || (rest != null && rest.hasNext());
+          }
+
+          @Override
+          public Entry<String, Object> next() {
+            if (next < tags.length) {
+              int position = next;
+              next = advance(position + 1);
+              return new SimpleImmutableEntry<>(layout.slots[position].name(), valueAt(position));
+            }
+            if (rest == null) {
+              throw new NoSuchElementException();
+            }
+            return rest.next();
+          }
+        };
+      }
+    };
+  }
+
+  private long bit(int position) {
+    return bits != null ? bits[position] : 0;
+  }
+
+  private Object valueAt(int position) {
+    return switch (tags[position]) {
+      case ABSENT, NULL -> null;
+      case INT -> (int) bit(position);
+      case LONG -> bit(position);
+      case DOUBLE -> Double.longBitsToDouble(bit(position));
+      case TRUE -> Boolean.TRUE;
+      case FALSE -> Boolean.FALSE;
+      case OPTION -> layout.option(position, (int) bit(position));
+      case OPTIONS -> {
+        List<String> selected = new ArrayList<>(Long.bitCount(bit(position)));
+        for (long mask = bit(position); mask != 0; mask &= mask - 1) {
+          selected.add(layout.option(position, Long.numberOfTrailingZeros(mask)));
+        }
+        yield List.copyOf(selected);
+      }
+      case DATE -> LocalDate.ofEpochDay(bit(position)).toString();
+      default -> refs[position];
+    };
+  }
+
+  /**
+   * Field order of a form together with the option values and date fields used to encode answers.
+   * Layouts are interned, so every submission of a form shares one instance.
+   */
+  public static final class Layout {
+
+    private record Slot(String name, boolean date, List<String> options) {}
+
+    private final Slot[] slots;
+    private final Map<String, Integer> positions;
+    private final List<Map<String, Integer>> optionPositions;
+
+    private Layout(Slot[] slots) {
+      this.slots = slots;
+      Map<String, Integer> positions = HashMap.newHashMap(slots.length);
+      List<Map<String, Integer>> optionPositions = new ArrayList<>(slots.length);
+      for (int i = 0; i < slots.length; i++) {
+        positions.putIfAbsent(slots[i].name(), i);
+        Map<String, Integer> options = HashMap.newHashMap(slots[i].options().size());
+        for (int j = 0; j < slots[i].options().size(); j++) {
+          options.putIfAbsent(slots[i].options().get(j), j);
+        }
+        optionPositions.add(options);
+      }
+      this.positions = positions;
+      this.optionPositions = optionPositions;
+    }
+
+    public static Layout of(Form form) {
+      List<Field> fields = form.getFields() != null ? form.getFields() : List.of();
+      Slot[] slots = new Slot[fields.size()];
+      for (int i = 0; i < slots.length; i++) {
+        Field field = fields.get(i);
+        String type = field.getType() != null ? field.getType().toLowerCase(Locale.ROOT) : "";
+        List<String> options =
+            field.getOptions() == null
+                ? List.of()
+                : field.getOptions().stream()
+                    .map(FieldOption::getValue)
+                    .filter(value -> value != null)
+                    .toList();
+        slots[i] = new Slot(field.getName(), "date".equals(type), options);
+      }
+      return LAYOUTS.intern(new Layout(slots));
+    }
+
+    static Layout ofNames(List<String> names) {
+      Slot[] slots = new Slot[names.size()];
+      for (int i = 0; i < slots.length; i++) {
+        slots[i] = new Slot(names.get(i), false, List.of());
+      }
+      return LAYOUTS.intern(new Layout(slots));
+    }
+
+    int size() {
+      return slots.length;
+    }
+
+    int position(String name) {
+      Integer position = positions.get(name);
+      return position != null ? position : -1;
+    }
+
+    String option(int position, int index) {
+      return slots[position].options().get(index);
+    }
+
+    int optionIndex(int position, String value) {
+      Integer index = optionPositions.get(position).get(value);
+      return index != null ? index : -1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Layout other && Arrays.equals(slots, other.slots);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(slots);
+    }
+  }
+
+  /** Collects answers into slots, growing them while the names are not known in advance. */
+  private static final class Builder {
+    private final Layout layout;
+    private final List<String> names;
+    private byte[] tags;
+    private long[] bits;
+    private Object[] refs;
+    private Map<String, Object> extras;
+    private int size;
+
+    Builder(Layout layout) {
+      this.layout = layout;
+      this.names = layout == null ? new ArrayList<>() : null;
+      this.tags = new byte[layout != null ? layout.size() : 8];
+    }
+
+    /** Position of {@code name}, or -1 if the layout does not know it. */
+    int position(String name) {
+      if (layout != null) {
+        return layout.position(name);
+      }
+      int position = names.indexOf(name);
+      if (position < 0) {
+        position = names.size();
+        names.add(name);
+        if (position == tags.length) {
+          int capacity = tags.length * 2;
+          tags = Arrays.copyOf(tags, capacity);
+          bits = bits != null ? Arrays.copyOf(bits, capacity) : null;
+          refs = refs != null ? Arrays.copyOf(refs, capacity) : null;
+        }
+      }
+      return position;
+    }
+
+    void put(String name, Object value) {
+      int position = position(name);
+      if (position < 0) {
+        extra(name, value);
+      } else {
+        put(position, value);
+      }
+    }
+
+    void put(int position, Object value) {
+      switch (value) {
+        case null -> set(position, NULL, 0, null);
+        case String s -> text(position, s);
+        case Integer i -> set(position, INT, i, null);
+        case Long l -> set(position, LONG, l, null);
+        case Double d -> set(position, DOUBLE, Double.doubleToRawLongBits(d), null);
+        case Boolean b -> set(position, b ? TRUE : FALSE, 0, null);
+        case List<?> list -> selection(position, list);
+        default -> set(position, OTHER, 0, value);
+      }
+    }
+
+    void text(int position, String value) {
+      if (layout != null) {
+        int option = layout.optionIndex(position, value);
+        if (option >= 0) {
+          set(position, OPTION, option, null);
+          return;
+        }
+        LocalDate date = layout.slots[position].date() ? parseDate(value) : null;
+        if (date != null) {
+          set(position, DATE, date.toEpochDay(), null);
+          return;
+        }
+      }
+      set(position, TEXT, 0, value);
+    }
+
+    /** Options listed once each in definition order fit a bit mask; anything else is kept. */
+    private void selection(int position, List<?> values) {
+      long mask = 0;
+      int previous = -1;
+      for (Object value : values) {
+        int index =
+            layout != null && value instanceof String s ? layout.optionIndex(position, s) : -1;
+        if (index <= previous || index >= Long.SIZE) {
+          set(position, OTHER, 0, values);
+          return;
+        }
+        mask |= 1L << index;
+        previous = index;
+      }
+      if (mask == 0) {
+        set(position, OTHER, 0, values);
+      } else {
+        set(position, OPTIONS, mask, null);
+      }
+    }
+
+    void set(int position, byte tag, long bit, Object ref) {
+      if (tags[position] == ABSENT) {
+        size++;
+      }
+      tags[position] = tag;
+      if (bit != 0 || bits != null) {
+        if (bits == null) {
+          bits = new long[tags.length];
+        }
+        bits[position] = bit;
+      }
+      if (ref != null || refs != null) {
+        if (refs == null) {
+          refs = new Object[tags.length];
+        }
+        refs[position] = ref;
+      }
+    }
+
+    void extra(String name, Object value) {
+      if (extras == null) {
+        extras = new LinkedHashMap<>();
+      }
+      extras.put(name, value);
+    }
+
+    SubmissionValues build() {
+      Layout built = layout;
+      if (built == null) {
+        built = Layout.ofNames(names);
+        int length = names.size();
+        tags = Arrays.copyOf(tags, length);
+        bits = bits != null ? Arrays.copyOf(bits, length) : null;
+        refs = refs != null ? Arrays.copyOf(refs, length) : null;
+      }
+      int total = size + (extras != null ? extras.size() : 0);
+      return new SubmissionValues(built, tags, bits, refs, extras, total);
+    }
+
+    private static LocalDate parseDate(String value) {
+      try {
+        LocalDate date = LocalDate.parse(value);
+        // Only canonical spellings, so the answer is written back exactly as submitted
+        return date.toString().equals(value) ? date : null;
+      } catch (DateTimeParseException e) {
+        return null;
+      }
+    }
+  }
+
+  static class Serializer extends ValueSerializer<SubmissionValues> {
+    @Override
+    public void serialize(
+        SubmissionValues values, JsonGenerator generator, SerializationContext context) {
+      values.write(generator);
+    }
+  }
+
+  static class Deserializer extends ValueDeserializer<SubmissionValues> {
+    @Override
+    public SubmissionValues deserialize(JsonParser parser, DeserializationContext context) {
+      return read(parser, null);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Stores {@link FormData#getData()} as a JSON object keyed by field name, which the JSON queries
+ * and indexes rely on. Values are never modified in place, so Hibernate compares them with equals
+ * instead of keeping a deep copy per loaded row.
+ */
+@Converter
+@Immutable
+public class SubmissionValuesConverter implements AttributeConverter<SubmissionValues, String> {
+
+  @Override
+  public String convertToDatabaseColumn(SubmissionValues values) {
+    return values == null ? null : JsonMapper.shared().writeValueAsString(values);
+  }
+
+  @Override
+  public SubmissionValues convertToEntityAttribute(String json) {
+    return json == null ? null : JsonMapper.shared().readValue(json, SubmissionValues.class);
+  }
+}
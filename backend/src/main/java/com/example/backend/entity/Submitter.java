@@ -0,0 +1,20 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/** Dictionary of submitting users; {@code form_data} references them by id. */
+@Entity
+@Table(name = "submitter")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Submitter {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  @Column(nullable = false, unique = true)
+  private String username;
+}
@@ -0,0 +1,27 @@
+package com.example.backend.entity;
+
+import com.example.backend.repository.SubmissionKeyDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Stores {@link FormData#getSubmittedBy()} as {@code form_data.submitter_id}. Unknown usernames
+ * become an id that matches nothing; {@link SubmitterRegistration} inserts them for new rows.
+ */
+@Converter
+@RequiredArgsConstructor
+public class SubmitterConverter implements AttributeConverter<String, Integer> {
+
+  private final SubmissionKeyDictionary dictionary;
+
+  @Override
+  public Integer convertToDatabaseColumn(String username) {
+    return username == null ? null : dictionary.submitterId(username);
+  }
+
+  @Override
+  public String convertToEntityAttribute(Integer submitterId) {
+    return submitterId == null ? null : dictionary.username(submitterId);
+  }
+}
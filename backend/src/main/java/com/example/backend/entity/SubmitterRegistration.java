@@ -0,0 +1,20 @@
+package com.example.backend.entity;
+
+import com.example.backend.repository.SubmissionKeyDictionary;
+import jakarta.persistence.PrePersist;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Registers the submitter of a new {@link FormData} before it is inserted. {@link
+ * SubmitterConverter} only looks usernames up, because it also translates query parameters.
+ */
+@RequiredArgsConstructor
+public class SubmitterRegistration {
+
+  private final SubmissionKeyDictionary dictionary;
+
+  @PrePersist
+  void register(FormData formData) {
+    dictionary.registerSubmitter(formData.getSubmittedBy());
+  }
+}
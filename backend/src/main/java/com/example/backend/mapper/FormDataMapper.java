@@ -4,13 +4,21 @@ import static org.mapstruct.MappingConstants.ComponentModel.SPRING;
 
 import com.example.backend.dto.FormDataDto;
 import com.example.backend.entity.FormData;
+import com.example.backend.entity.SubmissionValues;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 
 @Mapper(componentModel = SPRING)
 public interface FormDataMapper {
   FormDataDto toDto(FormData formData);
+  @Mapping(target = "version", ignore = true)
   FormData toEntity(FormDataDto formDataDto);
   List<FormDataDto> mapList(List<FormData> formDataList);
+
+  /** Answers are immutable, so DTOs share them instead of copying them into a new map. */
+  default SubmissionValues shareValues(SubmissionValues values) {
+    return values;
+  }
 }
@@ -13,5 +13,7 @@ public interface FormMapper {
 
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
+  @Mapping(target = "version", ignore = true)
+  @Mapping(target = "retired", ignore = true)
   Form toEntity(FormDto dto);
 }
@@ -0,0 +1,39 @@
+package com.example.backend.metrics;
+
+import com.example.backend.repository.SubmissionKeyDictionary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code formKey} tag value of a meter. Keys come from request paths and parameters, so only
+ * keys of existing forms become tag values; anything else is {@value #UNKNOWN}, which keeps the
+ * number of series bounded by the number of forms.
+ */
+@Component
+@RequiredArgsConstructor
+public class FormKeyTags {
+
+  static final String UNKNOWN = "unknown";
+
+  // Known keys are a map read in the dictionary, but it looks up unknown ones on every call. They
+  // are remembered here for a while, so made-up keys do not cost a query per metered call; a form
+  // created meanwhile is tagged by its key once the entry expires.
+  private final Cache<String, Boolean> unknownKeys =
+      Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(Duration.ofSeconds(30)).build();
+
+  private final SubmissionKeyDictionary submissionKeyDictionary;
+
+  public String of(String formKey) {
+    if (formKey == null || unknownKeys.getIfPresent(formKey) != null) {
+      return UNKNOWN;
+    }
+    if (submissionKeyDictionary.isKnownForm(formKey)) {
+      return formKey;
+    }
+    unknownKeys.put(formKey, Boolean.TRUE);
+    return UNKNOWN;
+  }
+}
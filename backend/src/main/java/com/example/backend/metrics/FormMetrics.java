@@ -0,0 +1,28 @@
+package com.example.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class FormMetrics {
+
+  static final String PAYLOAD_SIZE = "form.submission.payload";
+
+  private final MeterRegistry meterRegistry;
+  private final FormKeyTags formKeyTags;
+
+  /** Records the request body size of an accepted submission; unknown sizes are skipped. */
+  public void recordPayloadSize(String formKey, long bytes) {
+    if (bytes < 0) {
+      return;
+    }
+    DistributionSummary.builder(PAYLOAD_SIZE)
+        .baseUnit("bytes")
+        .tag("formKey", formKeyTags.of(formKey))
+        .register(meterRegistry)
+        .record(bytes);
+  }
+}
@@ -0,0 +1,20 @@
+package com.example.backend.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records a {@code form.operations} timer for each call, tagged with the operation, the form key
+ * and the outcome. On a type it applies to every public method.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Metered {
+
+  /** Operation tag; defaults to the method name. */
+  String value() default "";
+}
@@ -0,0 +1,122 @@
+package com.example.backend.metrics;
+
+import com.example.backend.dto.FormDataFilter;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormData;
+import com.example.backend.service.SubmissionQueueFullException;
+import com.example.backend.validation.SubmissionValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolationException;
+import java.util.NoSuchElementException;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times {@link Metered} methods. Runs outside the cache, validation and transaction advice, so the
+ * timer covers what the caller waits for, including cache hits and the commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class MeteredAspect {
+
+  static final String TIMER = "form.operations";
+  static final String NONE = "none";
+  static final String UNKNOWN = FormKeyTags.UNKNOWN;
+
+  private final MeterRegistry meterRegistry;
+  private final FormKeyTags formKeyTags;
+
+  @Around(
+      "execution(public * *(..)) && (@within(com.example.backend.metrics.Metered)"
+          + " || @annotation(com.example.backend.metrics.Metered))")
+  public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    // Resolved before the call as well, so deleting a form is still tagged with its key
+    String argumentKey = formKeyOfArguments(joinPoint);
+    String knownKey = argumentKey != null ? formKeyTags.of(argumentKey) : null;
+    Object result = null;
+    String outcome = "success";
+    try {
+      result = joinPoint.proceed();
+      return result;
+    } catch (Throwable t) {
+      outcome = outcomeOf(t);
+      throw t;
+    } finally {
+      MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+      sample.stop(
+          Timer.builder(TIMER)
+              .tag("operation", operationOf(signature))
+              .tag("formKey", formKeyTag(argumentKey, knownKey, result, outcome))
+              .tag("outcome", outcome)
+              .register(meterRegistry));
+    }
+  }
+
+  private static String operationOf(MethodSignature signature) {
+    Metered metered = AnnotationUtils.findAnnotation(signature.getMethod(), Metered.class);
+    return metered != null && !metered.value().isEmpty()
+        ? metered.value()
+        : signature.getMethod().getName();
+  }
+
+  private String formKeyTag(String argumentKey, String knownKey, Object result, String outcome) {
+    if ("not_found".equals(outcome)) {
+      return UNKNOWN;
+    }
+    if (argumentKey == null) {
+      String resultKey = formKeyOf(result);
+      return resultKey != null ? formKeyTags.of(resultKey) : NONE;
+    }
+    return UNKNOWN.equals(knownKey) ? formKeyTags.of(argumentKey) : knownKey;
+  }
+
+  private static String formKeyOfArguments(ProceedingJoinPoint joinPoint) {
+    String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+    Object[] args = joinPoint.getArgs();
+    for (int i = 0; i < args.length; i++) {
+      String formKey = formKeyOf(args[i]);
+      if (formKey == null
+          && names != null
+          && "formKey".equals(names[i])
+          && args[i] instanceof String s) {
+        formKey = s;
+      }
+      if (formKey != null) {
+        return formKey;
+      }
+    }
+    return null;
+  }
+
+  private static String formKeyOf(Object value) {
+    return switch (value) {
+      case FormData formData -> formData.getFormKey();
+      case Form form -> form.getFormKey();
+      case FormDataFilter filter -> filter.getFormKey();
+      case null, default -> null;
+    };
+  }
+
+  private static String outcomeOf(Throwable t) {
+    return switch (t) {
+      case NoSuchElementException e -> "not_found";
+      case SubmissionValidationException e -> "invalid";
+      case ConstraintViolationException e -> "invalid";
+      case IllegalArgumentException e -> "invalid";
+      case SecurityException e -> "forbidden";
+      case SubmissionQueueFullException e -> "rejected";
+      default -> "error";
+    };
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.FormCounter;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FormCounterRepository extends JpaRepository<FormCounter, FormCounter.Key> {
+
+  List<FormCounter> findByIdFormKey(String formKey);
+
+  /** Adds {@code delta} in the database, so concurrent writers cannot lose each other's updates. */
+  @Modifying
+  @Query("UPDATE FormCounter c SET c.total = c.total + :delta WHERE c.id = :id")
+  int increment(FormCounter.Key id, long delta);
+}
@@ -0,0 +1,30 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.FormData;
+import com.example.backend.entity.SubmissionValues;
+import java.util.Optional;
+
+/**
+ * Changes of a submission by its owner, for {@link FormDataRepository}. The owner, and the expected
+ * version where given, are part of the statement's WHERE clause instead of checked after loading.
+ * Nothing is returned when no row matched: the submission is gone, not the user's, or not at the
+ * expected version.
+ */
+public interface FormDataMutations {
+
+  /**
+   * Locks a submission if {@code submittedBy} owns it and, unless {@code version} is null, it is
+   * at {@code version}, and returns it. The lock is held until the transaction ends, so the caller
+   * can validate new answers before {@linkplain #replaceLocked writing} them.
+   */
+  Optional<FormData> lockOwned(Long id, String submittedBy, Long version);
+
+  /**
+   * Replaces the answers of a submission returned by {@link #lockOwned} in the same transaction,
+   * pins them to {@code formVersion} and increments the version.
+   */
+  void replaceLocked(FormData locked, int formVersion, SubmissionValues data);
+
+  /** Deletes a submission if {@code submittedBy} owns it, returning what was deleted. */
+  Optional<FormData> deleteOwned(Long id, String submittedBy);
+}
@@ -0,0 +1,115 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.FormData;
+import com.example.backend.entity.SubmissionValues;
+import com.example.backend.entity.SubmissionValuesConverter;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+@RequiredArgsConstructor
+class FormDataMutationsImpl implements FormDataMutations {
+
+  private static final SubmissionValuesConverter VALUES = new SubmissionValuesConverter();
+  private static final String COLUMNS =
+      "form_id, form_version, CAST(data AS VARCHAR) AS data, version, submitted_at";
+
+  private final EntityManager entityManager;
+  private final SubmissionKeyDictionary submissionKeyDictionary;
+  private volatile Boolean postgres;
+
+  @Override
+  public Optional<FormData> lockOwned(Long id, String submittedBy, Long version) {
+    String sql =
+        "SELECT " + COLUMNS + " FROM form_data WHERE id = :id AND submitter_id = :submitter"
+            + (version != null ? " AND version = :version" : "")
+            + " FOR UPDATE";
+    NativeQuery<Object[]> query = owned(sql, id, submittedBy);
+    if (version != null) {
+      query.setParameter("version", version);
+    }
+    return single(query.getResultList()).map(row -> previous(row, id, submittedBy));
+  }
+
+  @Override
+  public void replaceLocked(FormData locked, int formVersion, SubmissionValues data) {
+    // submitted_at lets PostgreSQL go straight to the row's monthly partition
+    int updated =
+        entityManager
+            .createQuery(
+                "UPDATE FormData d SET d.data = :data, d.formVersion = :formVersion,"
+                    + " d.version = d.version + 1"
+                    + " WHERE d.id = :id AND d.submittedAt = :submittedAt")
+            .setParameter("data", data)
+            .setParameter("formVersion", formVersion)
+            .setParameter("id", locked.getId())
+            .setParameter("submittedAt", locked.getSubmittedAt())
+            .executeUpdate();
+    if (updated != 1) {
+      throw new IllegalStateException("Submission " + locked.getId() + " was not locked");
+    }
+  }
+
+  @Override
+  public Optional<FormData> deleteOwned(Long id, String submittedBy) {
+    String delete = "DELETE FROM form_data WHERE id = :id AND submitter_id = :submitter";
+    // Both return the deleted row from the one statement; H2 through a data change delta table
+    String sql =
+        isPostgres()
+            ? delete + " RETURNING " + COLUMNS
+            : "SELECT " + COLUMNS + " FROM OLD TABLE (" + delete + ")";
+    return single(owned(sql, id, submittedBy).getResultList())
+        .map(row -> previous(row, id, submittedBy));
+  }
+
+  @SuppressWarnings("unchecked")
+  private NativeQuery<Object[]> owned(String sql, Long id, String submittedBy) {
+    return entityManager
+        .createNativeQuery(sql)
+        .unwrap(NativeQuery.class)
+        .addSynchronizedEntityClass(FormData.class)
+        .setParameter("id", id)
+        .setParameter("submitter", submissionKeyDictionary.submitterId(submittedBy))
+        .addScalar("form_id", Long.class)
+        .addScalar("form_version", Integer.class)
+        .addScalar("data", String.class)
+        .addScalar("version", Long.class)
+        .addScalar("submitted_at", LocalDateTime.class);
+  }
+
+  private boolean isPostgres() {
+    Boolean result = postgres;
+    if (result == null) {
+      result =
+          entityManager
+                  .getEntityManagerFactory()
+                  .unwrap(SessionFactoryImplementor.class)
+                  .getJdbcServices()
+                  .getDialect()
+              instanceof PostgreSQLDialect;
+      postgres = result;
+    }
+    return result;
+  }
+
+  private static Optional<Object[]> single(List<Object[]> rows) {
+    return rows.stream().findFirst();
+  }
+
+  /** The row from the scalars added by {@link #owned}, in that order. */
+  private FormData previous(Object[] row, Long id, String submittedBy) {
+    return new FormData(
+        id,
+        submissionKeyDictionary.formKey((Long) row[0]),
+        (Integer) row[1],
+        VALUES.convertToEntityAttribute((String) row[2]),
+        (LocalDateTime) row[4],
+        submittedBy,
+        (Long) row[3]);
+  }
+}
@@ -1,11 +1,52 @@
 package com.example.backend.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 import com.example.backend.entity.FormData;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface FormDataRepository extends JpaRepository<FormData, Long> {
-  List<FormData> findBySubmittedByOrderBySubmittedAtDesc(String submittedBy);
+public interface FormDataRepository
+    extends JpaRepository<FormData, Long>,
+        JpaSpecificationExecutor<FormData>,
+        FormDataStreams,
+        FormDataMutations {
+  /** Read-only: callers never change the returned entity through the persistence context. */
+  @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+  Optional<FormData> findByIdAndSubmittedBy(Long id, String submittedBy);
+
+  boolean existsByFormKey(String formKey);
+
+  /** Cursor-backed stream for exports; must be consumed inside a read-only transaction. */
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  Stream<FormData> streamByFormKeyOrderById(String formKey);
+
+  /** Form keys with submissions before {@code cutoff}, each with its oldest submission time. */
+  @Query(
+      "SELECT d.formKey, MIN(d.submittedAt) FROM FormData d"
+          + " WHERE d.submittedAt < :cutoff GROUP BY d.formKey")
+  List<Object[]> findOldestSubmissionBefore(LocalDateTime cutoff);
+
+  /** Like {@link #streamByFormKeyOrderById}, restricted to {@code [from, to)}. */
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "SELECT d FROM FormData d WHERE d.formKey = :formKey"
+          + " AND d.submittedAt >= :from AND d.submittedAt < :to ORDER BY d.id")
+  Stream<FormData> streamSubmittedBetween(String formKey, LocalDateTime from, LocalDateTime to);
 }
@@ -0,0 +1,63 @@
+package com.example.backend.repository;
+
+import com.example.backend.config.JsonbFunctionContributor;
+import com.example.backend.dto.FieldPredicateDto;
+import com.example.backend.dto.FormDataFilter;
+import com.example.backend.entity.FormData;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class FormDataSpecifications {
+
+  private FormDataSpecifications() {}
+
+  /** Combines the non-null criteria of the filter; absent criteria add no predicate. */
+  public static Specification<FormData> matching(FormDataFilter filter) {
+    List<Specification<FormData>> specifications = new ArrayList<>();
+    if (filter.getFormKey() != null) {
+      specifications.add(hasFormKey(filter.getFormKey()));
+    }
+    if (filter.getSubmittedBy() != null) {
+      specifications.add(isSubmittedBy(filter.getSubmittedBy()));
+    }
+    if (filter.getSubmittedFrom() != null) {
+      specifications.add(
+          (root, query, cb) ->
+              cb.greaterThanOrEqualTo(root.get("submittedAt"), filter.getSubmittedFrom()));
+    }
+    if (filter.getSubmittedTo() != null) {
+      specifications.add(
+          (root, query, cb) -> cb.lessThan(root.get("submittedAt"), filter.getSubmittedTo()));
+    }
+    if (filter.getPredicates() != null && !filter.getPredicates().isEmpty()) {
+      specifications.add(answersMatch(filter.getPredicates()));
+    }
+    return specifications.isEmpty()
+        ? Specification.unrestricted()
+        : Specification.allOf(specifications);
+  }
+
+  public static Specification<FormData> hasFormKey(String formKey) {
+    return (root, query, cb) -> cb.equal(root.get("formKey"), formKey);
+  }
+
+  public static Specification<FormData> isSubmittedBy(String submittedBy) {
+    return (root, query, cb) -> cb.equal(root.get("submittedBy"), submittedBy);
+  }
+
+  /**
+   * All predicates hold for the submitted answers, as one {@code data @@ jsonpath} condition.
+   * PostgreSQL only. Throws {@link IllegalArgumentException} for malformed predicates.
+   */
+  public static Specification<FormData> answersMatch(List<FieldPredicateDto> predicates) {
+    String jsonPath = SubmissionJsonPath.compile(predicates);
+    return (root, query, cb) ->
+        cb.isTrue(
+            cb.function(
+                JsonbFunctionContributor.JSONB_PATH_MATCH,
+                Boolean.class,
+                root.get("data"),
+                cb.literal(jsonPath)));
+  }
+}
@@ -0,0 +1,16 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.FormData;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/** Cursor-backed reads of submissions matching a specification, for {@link FormDataRepository}. */
+public interface FormDataStreams {
+
+  /**
+   * Streams the matching submissions in {@code sort} order, fetched from a database cursor as the
+   * stream is consumed; must be consumed inside a read-only transaction.
+   */
+  Stream<FormData> streamBy(Specification<FormData> specification, Sort sort);
+}
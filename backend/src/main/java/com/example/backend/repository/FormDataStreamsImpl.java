@@ -0,0 +1,40 @@
+package com.example.backend.repository;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import com.example.backend.entity.FormData;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+@RequiredArgsConstructor
+class FormDataStreamsImpl implements FormDataStreams {
+
+  private final EntityManager entityManager;
+
+  @Override
+  public Stream<FormData> streamBy(Specification<FormData> specification, Sort sort) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<FormData> query = cb.createQuery(FormData.class);
+    Root<FormData> root = query.from(FormData.class);
+    Predicate predicate = specification.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.orderBy(QueryUtils.toOrders(sort, root, cb));
+    // Same hints as streamByFormKeyOrderById
+    return entityManager
+        .createQuery(query)
+        .setHint(HINT_FETCH_SIZE, 500)
+        .setHint(HINT_READ_ONLY, true)
+        .getResultStream();
+  }
+}
@@ -1,7 +1,10 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.FormListItemDto;
 import com.example.backend.entity.Form;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +14,11 @@ public interface FormRepository extends JpaRepository<Form, Long> {
   Optional<Form> findByFormKey(String formKey);
 
   boolean existsByFormKey(String formKey);
+
+  // DTO projections select only the list columns; the fields JSON is never read. Slices skip the
+  // count query a Page would need. Retired forms are left out.
+  Slice<FormListItemDto> findListItemsByRetiredFalse(Pageable pageable);
+
+  Slice<FormListItemDto> findListItemsByRetiredFalseAndTitleContainingIgnoreCase(
+      String title, Pageable pageable);
 }
@@ -0,0 +1,19 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.FormVersion;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FormVersionRepository extends JpaRepository<FormVersion, FormVersion.Key> {
+
+  List<FormVersion> findByIdFormIdOrderByIdVersionDesc(Long formId);
+
+  /** Snapshots are immutable, so they can only go together with their form. */
+  @Modifying
+  @Query(value = "DELETE FROM form_version WHERE form_id = :formId", nativeQuery = true)
+  int deleteByFormId(Long formId);
+}
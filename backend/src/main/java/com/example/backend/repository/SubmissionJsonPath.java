@@ -0,0 +1,106 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.FieldPredicateDto;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles answer predicates into one SQL/JSON path predicate for {@code data @@ jsonpath}. Only
+ * {@code ==} comparisons against constants, joined by {@code &&} and {@code ||}, can be answered
+ * from the {@code jsonb_path_ops} GIN index; range bounds are checked on the rows it returns.
+ */
+final class SubmissionJsonPath {
+
+  // Same rule as field names in form definitions
+  private static final Pattern FIELD_NAME = Pattern.compile("^[a-zA-Z][a-zA-Z0-9]*$");
+
+  private SubmissionJsonPath() {}
+
+  static String compile(List<FieldPredicateDto> predicates) {
+    List<String> clauses = new ArrayList<>(predicates.size());
+    for (FieldPredicateDto predicate : predicates) {
+      clauses.add(compile(predicate));
+    }
+    return String.join(" && ", clauses);
+  }
+
+  private static String compile(FieldPredicateDto predicate) {
+    if (predicate.getField() == null || !FIELD_NAME.matcher(predicate.getField()).matches()) {
+      throw new IllegalArgumentException("Invalid field name: " + predicate.getField());
+    }
+    if (predicate.getOp() == null) {
+      throw new IllegalArgumentException("Missing op for field " + predicate.getField());
+    }
+    // Quoted, so names like "type" or "last" are never read as jsonpath keywords
+    String path = "$." + quote(predicate.getField());
+    return switch (predicate.getOp()) {
+      case EQUALS -> path + " == " + literal(predicate.getField(), predicate.getValue());
+      case CONTAINS -> path + "[*] == " + literal(predicate.getField(), predicate.getValue());
+      case IN -> {
+        if (predicate.getValues() == null || predicate.getValues().isEmpty()) {
+          throw new IllegalArgumentException("in needs values for field " + predicate.getField());
+        }
+        List<String> alternatives = new ArrayList<>(predicate.getValues().size());
+        for (Object value : predicate.getValues()) {
+          alternatives.add(path + " == " + literal(predicate.getField(), value));
+        }
+        yield "(" + String.join(" || ", alternatives) + ")";
+      }
+      case RANGE -> {
+        if (predicate.getMin() == null && predicate.getMax() == null) {
+          throw new IllegalArgumentException(
+              "range needs min or max for field " + predicate.getField());
+        }
+        List<String> bounds = new ArrayList<>(2);
+        if (predicate.getMin() != null) {
+          bounds.add(path + " >= " + literal(predicate.getField(), predicate.getMin()));
+        }
+        if (predicate.getMax() != null) {
+          bounds.add(path + " <= " + literal(predicate.getField(), predicate.getMax()));
+        }
+        yield "(" + String.join(" && ", bounds) + ")";
+      }
+    };
+  }
+
+  private static String literal(String field, Object value) {
+    return switch (value) {
+      case String s -> quote(s);
+      case Boolean b -> b.toString();
+      case Integer i -> i.toString();
+      case Long l -> l.toString();
+      case BigInteger i -> i.toString();
+      case BigDecimal d -> d.toPlainString();
+      case Double d when Double.isFinite(d) -> BigDecimal.valueOf(d).toPlainString();
+      case null, default ->
+          throw new IllegalArgumentException(
+              "Value for field " + field + " must be a string, number or boolean");
+    };
+  }
+
+  /** A jsonpath string literal uses the JSON escapes. */
+  private static String quote(String value) {
+    StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> quoted.append("\\\"");
+        case '\\' -> quoted.append("\\\\");
+        case '\n' -> quoted.append("\\n");
+        case '\r' -> quoted.append("\\r");
+        case '\t' -> quoted.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            quoted.append(String.format("\\u%04x", (int) c));
+          } else {
+            quoted.append(c);
+          }
+        }
+      }
+    }
+    return quoted.append('"').toString();
+  }
+}
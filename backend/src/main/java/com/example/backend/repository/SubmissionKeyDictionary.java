@@ -0,0 +1,204 @@
+package com.example.backend.repository;
+
+import com.example.backend.util.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Two-way mapping between the form keys and usernames of submissions and the ids {@code
+ * form_data} stores instead ({@code form.id}, {@code submitter.id}). Names are held once, so all
+ * submissions loaded for a form or user share a single String instance, and after the first
+ * lookup a translation is a map read. Translations read by a transaction that rolls back are
+ * dropped again, so an id inserted by that transaction does not outlive it.
+ *
+ * <p>Every instance keeps its own copy, and a form deleted on one instance may be created again
+ * under the same key with a new id. Name-to-id translations therefore expire after {@code
+ * submission.key-dictionary.ttl} and are read again. Ids are never reused, so id-to-name
+ * translations are kept.
+ */
+@Component
+public class SubmissionKeyDictionary {
+
+  /** Matches no row; used for keys of forms that do not exist. */
+  static final long UNKNOWN_FORM = -1L;
+
+  /** Matches no row; used for usernames that never submitted anything. */
+  static final int UNKNOWN_SUBMITTER = -1;
+
+  private final JdbcTemplate jdbcTemplate;
+  private volatile Boolean postgres;
+  private final Cache<String, Long> formIds;
+  private final Map<Long, String> formKeys = new ConcurrentHashMap<>();
+  private final Cache<String, Integer> submitterIds;
+  private final Map<Integer, String> usernames = new ConcurrentHashMap<>();
+
+  public SubmissionKeyDictionary(
+      JdbcTemplate jdbcTemplate, @Value("${submission.key-dictionary.ttl:1m}") Duration ttl) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.formIds = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+    this.submitterIds = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+  }
+
+  /**
+   * The id of the form with this key, or {@link #UNKNOWN_FORM}. Submissions are only stored for
+   * forms that exist, so the unknown id only ever reaches queries, where it matches nothing.
+   */
+  public long formId(String formKey) {
+    Long id = formIds.getIfPresent(formKey);
+    if (id == null) {
+      id =
+          jdbcTemplate.query(
+              "SELECT id FROM form WHERE form_key = ?",
+              rs -> rs.next() ? rs.getLong(1) : null,
+              formKey);
+      if (id == null) {
+        return UNKNOWN_FORM;
+      }
+      rememberForm(id, formKey);
+    }
+    return id;
+  }
+
+  /** Whether a form with this key exists; unknown keys are looked up again on every call. */
+  public boolean isKnownForm(String formKey) {
+    return formId(formKey) != UNKNOWN_FORM;
+  }
+
+  public String formKey(long formId) {
+    String formKey = formKeys.get(formId);
+    if (formKey == null) {
+      formKey =
+          jdbcTemplate.query(
+              "SELECT form_key FROM form WHERE id = ?",
+              rs -> rs.next() ? rs.getString(1) : null,
+              formId);
+      if (formKey == null) {
+        throw new NoSuchElementException("No form with id " + formId);
+      }
+      formKey = rememberForm(formId, formKey);
+    }
+    return formKey;
+  }
+
+  /** Drops a deleted form, so a new form with the same key is looked up again. */
+  public void forgetForm(String formKey) {
+    Long id = formIds.asMap().remove(formKey);
+    if (id != null) {
+      formKeys.remove(id);
+    }
+  }
+
+  /**
+   * The id of a submitter, or {@link #UNKNOWN_SUBMITTER} for a username that was never {@linkplain
+   * #registerSubmitter registered}. Usernames reach queries straight from request parameters, so
+   * looking one up never inserts it.
+   */
+  public int submitterId(String username) {
+    Integer id = submitterIds.getIfPresent(username);
+    if (id == null) {
+      id = findSubmitterId(username);
+      if (id == null) {
+        return UNKNOWN_SUBMITTER;
+      }
+      rememberSubmitter(id, username);
+    }
+    return id;
+  }
+
+  /**
+   * The id of a submitter, inserting the username if it is new. The row is inserted in the
+   * caller's transaction, so it commits or rolls back with the submission that needs it.
+   */
+  public int registerSubmitter(String username) {
+    Integer id = submitterIds.getIfPresent(username);
+    if (id == null) {
+      id = findSubmitterId(username);
+      if (id == null) {
+        id = insertSubmitter(username);
+      }
+      rememberSubmitter(id, username);
+    }
+    return id;
+  }
+
+  public String username(int submitterId) {
+    String username = usernames.get(submitterId);
+    if (username == null) {
+      username =
+          jdbcTemplate.query(
+              "SELECT username FROM submitter WHERE id = ?",
+              rs -> rs.next() ? rs.getString(1) : null,
+              submitterId);
+      if (username == null) {
+        throw new NoSuchElementException("No submitter with id " + submitterId);
+      }
+      username = rememberSubmitter(submitterId, username);
+    }
+    return username;
+  }
+
+  private Integer findSubmitterId(String username) {
+    return jdbcTemplate.query(
+        "SELECT id FROM submitter WHERE username = ?",
+        rs -> rs.next() ? rs.getInt(1) : null,
+        username);
+  }
+
+  /**
+   * Inserts a username that was not found. On PostgreSQL a concurrent insert of the same name makes
+   * this one wait for the other transaction and then return its row, instead of failing the
+   * caller's transaction with a unique violation.
+   */
+  private int insertSubmitter(String username) {
+    if (isPostgres()) {
+      Integer id =
+          jdbcTemplate.query(
+              "INSERT INTO submitter (username) VALUES (?) ON CONFLICT (username) DO NOTHING"
+                  + " RETURNING id",
+              rs -> rs.next() ? rs.getInt(1) : null,
+              username);
+      return id != null ? id : findSubmitterId(username);
+    }
+    jdbcTemplate.update("INSERT INTO submitter (username) VALUES (?)", username);
+    return findSubmitterId(username);
+  }
+
+  private boolean isPostgres() {
+    Boolean result = postgres;
+    if (result == null) {
+      result =
+          jdbcTemplate.execute(
+              (ConnectionCallback<Boolean>)
+                  connection ->
+                      connection.getMetaData().getDatabaseProductName().equals("PostgreSQL"));
+      postgres = result;
+    }
+    return result;
+  }
+
+  private String rememberForm(long id, String formKey) {
+    String interned = formKeys.computeIfAbsent(id, key -> formKey);
+    formIds.put(interned, id);
+    TransactionUtils.afterRollback(() -> forgetForm(interned));
+    return interned;
+  }
+
+  private String rememberSubmitter(int id, String username) {
+    String interned = usernames.computeIfAbsent(id, key -> username);
+    submitterIds.put(interned, id);
+    TransactionUtils.afterRollback(
+        () -> {
+          submitterIds.invalidate(interned);
+          usernames.remove(id);
+        });
+    return interned;
+  }
+}
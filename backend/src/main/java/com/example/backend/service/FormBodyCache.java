@@ -0,0 +1,96 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Form;
+import com.example.backend.mapper.FormMapper;
+import com.example.backend.util.ETagUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * The {@code GET /api/forms/{key}} response body of each form version, serialized and gzipped
+ * once. Bodies are keyed by the identity of the {@link Form} instance like compiled schemas, so
+ * when {@link FormService#updateForm} evicts a definition from the form cache its body goes with
+ * it.
+ */
+@Component
+@RequiredArgsConstructor
+public class FormBodyCache {
+
+  public static final String GZIP = "gzip";
+
+  /** The JSON body and its precompressed variant; {@code gzip} is null when it would not help. */
+  public record FormBody(String eTag, byte[] json, String gzipETag, byte[] gzip) {}
+
+  private final Cache<Form, FormBody> bodies = Caffeine.newBuilder().weakKeys().build();
+
+  private final FormMapper formMapper;
+  private final ObjectMapper objectMapper;
+
+  public FormBody get(Form form) {
+    return bodies.get(form, this::render);
+  }
+
+  /** Whether an {@code Accept-Encoding} header allows gzip, honouring {@code q=0}. */
+  public static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      String name = parts[0].trim().toLowerCase(Locale.ROOT);
+      if ((name.equals(GZIP) || name.equals("x-gzip") || name.equals("*")) && !refused(parts)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean refused(String[] parameters) {
+    for (int i = 1; i < parameters.length; i++) {
+      String parameter = parameters[i].trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2)) == 0;
+        } catch (NumberFormatException e) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private FormBody render(Form form) {
+    byte[] json = objectMapper.writeValueAsBytes(formMapper.toDto(form));
+    byte[] gzip = gzip(json);
+    return new FormBody(
+        ETagUtils.toETag(form.getId(), form.getVersion()),
+        json,
+        ETagUtils.toETag(form.getId(), form.getVersion(), GZIP),
+        gzip.length < json.length ? gzip : null);
+  }
+
+  private static byte[] gzip(byte[] bytes) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 32);
+    // Compressed once per version, so the slowest level costs nothing per request
+    try (GZIPOutputStream gzip =
+        new GZIPOutputStream(out) {
+          {
+            def.setLevel(Deflater.BEST_COMPRESSION);
+          }
+        }) {
+      gzip.write(bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+}
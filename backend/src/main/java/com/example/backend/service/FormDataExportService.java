@@ -0,0 +1,209 @@
+package com.example.backend.service;
+
+import com.example.backend.archive.SubmissionArchive;
+import com.example.backend.dto.FormDataFilter;
+import com.example.backend.entity.Field;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormData;
+import com.example.backend.mapper.FormDataMapper;
+import com.example.backend.repository.FormDataRepository;
+import com.example.backend.repository.FormDataSpecifications;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Streams every submission of a form to an output stream, archived ones first. Rows are read
+ * through a database cursor and detached as they go, so heap use does not grow with the row
+ * count.
+ */
+@Service
+@Slf4j
+public class FormDataExportService {
+
+  private static final List<String> FIXED_COLUMNS = List.of("id", "submittedAt", "submittedBy");
+
+  private final FormDataRepository formDataRepository;
+  private final SubmissionArchive submissionArchive;
+  private final FormDataMapper formDataMapper;
+  private final ObjectMapper objectMapper;
+  private final EntityManager entityManager;
+  private final Semaphore streams;
+
+  public FormDataExportService(
+      FormDataRepository formDataRepository,
+      SubmissionArchive submissionArchive,
+      FormDataMapper formDataMapper,
+      ObjectMapper objectMapper,
+      EntityManager entityManager,
+      @Value("${submission.stream.max-concurrent:8}") int maxConcurrentStreams) {
+    this.formDataRepository = formDataRepository;
+    this.submissionArchive = submissionArchive;
+    this.formDataMapper = formDataMapper;
+    this.objectMapper = objectMapper;
+    this.entityManager = entityManager;
+    this.streams = new Semaphore(maxConcurrentStreams);
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  public enum Format {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    public static Format parse(String value) {
+      try {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Unsupported export format: " + value);
+      }
+    }
+  }
+
+  @Transactional(readOnly = true)
+  public long export(Form form, Format format, OutputStream outputStream) {
+    Writer writer =
+        new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    long count = 0;
+    try (Stream<FormData> archived = submissionArchive.streamByFormKey(form.getFormKey());
+        Stream<FormData> live = formDataRepository.streamByFormKeyOrderById(form.getFormKey())) {
+      // Rows are fully loaded, so they can be detached before they are written
+      Stream<FormData> submissions = Stream.concat(archived, live.peek(entityManager::detach));
+      if (format == Format.CSV) {
+        writeCsvRow(writer, header(form.getFields()));
+      }
+      for (FormData formData : (Iterable<FormData>) submissions::iterator) {
+        if (format == Format.CSV) {
+          writeCsvRow(writer, row(form.getFields(), formData));
+        } else {
+          writeNdjson(writer, formData);
+        }
+        count++;
+      }
+      writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    log.info("Exported {} submission(s) of form {} as {}", count, form.getFormKey(), format);
+    return count;
+  }
+
+  /**
+   * Takes one of the {@code submission.stream.max-concurrent} slots for a {@link #stream} or
+   * {@link #export}. A stream holds a database connection and transaction for as long as its
+   * client takes to read it, so without a cap a few slow downloads could take the whole pool.
+   *
+   * @return gives the slot back; only the first call has an effect, so every path that ends the
+   *     response may call it
+   * @throws TooManyStreamsException if every slot is taken
+   */
+  public Runnable acquireStream() {
+    if (!streams.tryAcquire()) {
+      throw new TooManyStreamsException();
+    }
+    AtomicBoolean released = new AtomicBoolean();
+    return () -> {
+      if (released.compareAndSet(false, true)) {
+        streams.release();
+      }
+    };
+  }
+
+  /**
+   * Streams the live submissions matching {@code filter} as NDJSON, newest first. Rows come from a
+   * database cursor only as fast as the client reads them: a write blocks while the socket buffer
+   * is full, so a slow reader holds back the query instead of rows piling up in memory.
+   */
+  @Transactional(readOnly = true)
+  public long stream(FormDataFilter filter, OutputStream outputStream) {
+    Writer writer =
+        new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    long count = 0;
+    try (Stream<FormData> submissions =
+        formDataRepository.streamBy(
+            FormDataSpecifications.matching(filter), FormDataService.NEWEST_FIRST)) {
+      for (FormData formData : (Iterable<FormData>) submissions::iterator) {
+        entityManager.detach(formData);
+        writeNdjson(writer, formData);
+        count++;
+      }
+      writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    log.info("Streamed {} submission(s)", count);
+    return count;
+  }
+
+  private void writeNdjson(Writer writer, FormData formData) throws IOException {
+    writer.write(objectMapper.writeValueAsString(formDataMapper.toDto(formData)));
+    writer.write('\n');
+  }
+
+  private static List<String> header(List<Field> fields) {
+    return Stream.concat(FIXED_COLUMNS.stream(), fields.stream().map(Field::getName)).toList();
+  }
+
+  private static List<String> row(List<Field> fields, FormData formData) {
+    Stream<String> fixed =
+        Stream.of(
+            String.valueOf(formData.getId()),
+            String.valueOf(formData.getSubmittedAt()),
+            formData.getSubmittedBy());
+    Stream<String> values = fields.stream().map(f -> toCell(formData.getData().get(f.getName())));
+    return Stream.concat(fixed, values).toList();
+  }
+
+  private static String toCell(Object value) {
+    if (value == null) {
+      return "";
+    }
+    if (value instanceof Collection<?> collection) {
+      // checkbox groups hold several selected values
+      return collection.stream().map(String::valueOf).collect(Collectors.joining(";"));
+    }
+    return String.valueOf(value);
+  }
+
+  private static void writeCsvRow(Writer writer, List<String> cells) throws IOException {
+    for (int i = 0; i < cells.size(); i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      writer.write(escapeCsv(cells.get(i)));
+    }
+    writer.write("\r\n");
+  }
+
+  static String escapeCsv(String value) {
+    if (value.indexOf(',') < 0
+        && value.indexOf('"') < 0
+        && value.indexOf('\n') < 0
+        && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
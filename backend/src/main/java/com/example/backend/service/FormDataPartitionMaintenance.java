@@ -0,0 +1,235 @@
+package com.example.backend.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the monthly partitions of {@code form_data} (see the {@code V8} migration): creates
+ * the partitions for the coming months and, when a retention is configured, detaches or drops the
+ * months that have expired, so old submissions go away without a mass {@code DELETE}. The {@link
+ * com.example.backend.entity.FormCounter} rollups are reduced by what the removed month
+ * contributed.
+ */
+@Component
+@ConditionalOnProperty(name = "submission.partitioning.enabled", havingValue = "true")
+@Slf4j
+public class FormDataPartitionMaintenance {
+
+  enum ExpiredAction {
+    /** Detach the partition and keep it as a standalone table, e.g. for archiving. */
+    DETACH,
+    /** Detach and drop the partition. */
+    DROP
+  }
+
+  static final String PREFIX = "form_data_p";
+  private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+  private static final String LIST_PARTITIONS =
+      """
+      SELECT c.relname
+      FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+      WHERE i.inhparent = 'form_data'::regclass
+      """;
+
+  /** Catches rows of months that have no partition yet (V11). */
+  static final String DEFAULT_PARTITION = "form_data_default";
+
+  // Serializes the maintenance of all instances: each starts it when it is ready
+  private static final String LOCK =
+      "SELECT pg_advisory_xact_lock(hashtext('form_data_partitions'))";
+
+  /**
+   * Reverses what {@link SubmissionCounters} counted for the submissions of one partition. Like
+   * there, answers are counted against the definition each submission is pinned to ({@code
+   * form_version}), empty answers not at all, options only if the field defines them and {@code
+   * ANSWERED} only for optional fields; the joins are those of the V7 backfill.
+   */
+  private static final String UNCOUNT_PARTITION =
+      """
+      WITH answers AS (
+        SELECT f.form_key, fv.fields, e.key, e.value
+        FROM %1$s d
+        JOIN form f ON f.id = d.form_id
+        JOIN form_version fv ON fv.form_id = d.form_id AND fv.version = d.form_version
+        CROSS JOIN LATERAL jsonb_each(d.data) e
+        WHERE jsonb_typeof(e.value) <> 'null'
+          AND e.value NOT IN ('false'::jsonb, '[]'::jsonb)
+          AND NOT (jsonb_typeof(e.value) = 'string' AND btrim(e.value #>> '{}') = '')
+      ),
+      removed AS (
+        SELECT f.form_key, 'DAY' AS kind, '' AS field_name,
+            to_char(d.submitted_at, 'YYYY-MM-DD') AS item_value, count(*) AS total
+        FROM %1$s d JOIN form f ON f.id = d.form_id
+        GROUP BY f.form_key, to_char(d.submitted_at, 'YYYY-MM-DD')
+        UNION ALL
+        SELECT a.form_key, 'OPTION', a.key, v.value, count(*)
+        FROM answers a
+        CROSS JOIN LATERAL jsonb_array_elements_text(
+            CASE jsonb_typeof(a.value) WHEN 'array' THEN a.value ELSE jsonb_build_array(a.value) END
+        ) v(value)
+        WHERE EXISTS (
+          SELECT 1
+          FROM jsonb_array_elements(a.fields) fd
+          CROSS JOIN LATERAL jsonb_array_elements(
+              CASE jsonb_typeof(fd -> 'options') WHEN 'array' THEN fd -> 'options' ELSE '[]' END
+          ) o
+          WHERE fd ->> 'name' = a.key AND o ->> 'value' = v.value
+        )
+        GROUP BY a.form_key, a.key, v.value
+        UNION ALL
+        SELECT a.form_key, 'ANSWERED', a.key, '', count(*)
+        FROM answers a
+        WHERE EXISTS (
+          SELECT 1 FROM jsonb_array_elements(a.fields) fd
+          WHERE fd ->> 'name' = a.key AND NOT coalesce((fd ->> 'required')::boolean, false)
+        )
+        GROUP BY a.form_key, a.key
+      )
+      UPDATE form_counter c SET total = c.total - r.total
+      FROM removed r
+      WHERE c.form_key = r.form_key AND c.kind = r.kind
+        AND c.field_name = r.field_name AND c.item_value = r.item_value
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final int monthsAhead;
+  private final int retentionMonths;
+  private final ExpiredAction expiredAction;
+
+  public FormDataPartitionMaintenance(
+      JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      @Value("${submission.partitioning.months-ahead:3}") int monthsAhead,
+      @Value("${submission.partitioning.retention-months:0}") int retentionMonths,
+      @Value("${submission.partitioning.expired:drop}") String expiredAction) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.monthsAhead = monthsAhead;
+    this.retentionMonths = retentionMonths;
+    this.expiredAction = ExpiredAction.valueOf(expiredAction.toUpperCase(Locale.ROOT));
+  }
+
+  /**
+   * Runs when the instance is ready and then daily. A failed run is logged and retried at the next
+   * one: meanwhile the default partition takes the rows of months that are missing.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${submission.partitioning.cron:0 30 3 * * *}")
+  public void maintain() {
+    try {
+      maintain(YearMonth.now());
+    } catch (RuntimeException e) {
+      log.error("Submission partition maintenance failed, retrying at the next run", e);
+    }
+  }
+
+  void maintain(YearMonth current) {
+    for (int i = 0; i <= monthsAhead; i++) {
+      createPartition(current.plusMonths(i));
+    }
+    if (retentionMonths > 0) {
+      for (String partition : expiredPartitions(current)) {
+        removePartition(partition);
+      }
+    }
+  }
+
+  /**
+   * Creates the partition of {@code month} unless another instance already has. Rows the default
+   * partition took for that month meanwhile are moved into it: PostgreSQL refuses a new partition
+   * whose range the default partition has rows in, so the default one is detached for the move.
+   */
+  private void createPartition(YearMonth month) {
+    String partition = partitionName(month);
+    LocalDate from = month.atDay(1);
+    LocalDate to = month.plusMonths(1).atDay(1);
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          jdbcTemplate.execute(LOCK);
+          if (Boolean.TRUE.equals(
+              jdbcTemplate.queryForObject(
+                  "SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition))) {
+            return;
+          }
+          String create =
+              "CREATE TABLE %s PARTITION OF form_data FOR VALUES FROM ('%s') TO ('%s')"
+                  .formatted(partition, from, to);
+          String inRange =
+              " WHERE submitted_at >= '%s' AND submitted_at < '%s'".formatted(from, to);
+          if (!Boolean.TRUE.equals(
+              jdbcTemplate.queryForObject(
+                  "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + inRange + ")",
+                  Boolean.class))) {
+            jdbcTemplate.execute(create);
+            return;
+          }
+          log.warn("Moving submissions of {} out of the default partition", month);
+          jdbcTemplate.execute("ALTER TABLE form_data DETACH PARTITION " + DEFAULT_PARTITION);
+          jdbcTemplate.execute(create);
+          jdbcTemplate.update(
+              "INSERT INTO form_data SELECT * FROM " + DEFAULT_PARTITION + inRange);
+          jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + inRange);
+          jdbcTemplate.execute(
+              "ALTER TABLE form_data ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+        });
+  }
+
+  /** Partitions whose whole month lies before the retention window, oldest first. */
+  List<String> expiredPartitions(YearMonth current) {
+    YearMonth oldestKept = current.minusMonths(retentionMonths - 1L);
+    List<String> expired = new ArrayList<>();
+    for (String name : jdbcTemplate.queryForList(LIST_PARTITIONS, String.class)) {
+      YearMonth month = monthOf(name);
+      if (month != null && month.isBefore(oldestKept)) {
+        expired.add(name);
+      }
+    }
+    expired.sort(null);
+    return expired;
+  }
+
+  private void removePartition(String partition) {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          jdbcTemplate.execute(LOCK);
+          jdbcTemplate.update(UNCOUNT_PARTITION.formatted(partition));
+          jdbcTemplate.execute("ALTER TABLE form_data DETACH PARTITION " + partition);
+          if (expiredAction == ExpiredAction.DROP) {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+          }
+        });
+    log.info("Removed expired submission partition {} ({})", partition, expiredAction);
+  }
+
+  static String partitionName(YearMonth month) {
+    return PREFIX + month.format(SUFFIX);
+  }
+
+  /** The month of a partition named by {@link #partitionName}, or null for any other table. */
+  static YearMonth monthOf(String partition) {
+    if (!partition.startsWith(PREFIX)) {
+      return null;
+    }
+    try {
+      return YearMonth.parse(partition.substring(PREFIX.length()), SUFFIX);
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+}
@@ -1,15 +1,37 @@
 package com.example.backend.service;
 
+import com.example.backend.archive.SubmissionArchive;
+import com.example.backend.dto.FieldPredicateDto;
+import com.example.backend.dto.FormDataBatchItemDto;
+import com.example.backend.dto.FormDataBatchResultDto;
+import com.example.backend.dto.FormDataFilter;
+import com.example.backend.dto.ValidationErrorDto;
+import com.example.backend.entity.Field;
+import com.example.backend.entity.Form;
 import com.example.backend.entity.FormData;
+import com.example.backend.entity.FormVersion;
+import com.example.backend.entity.SubmissionValues;
+import com.example.backend.metrics.Metered;
 import com.example.backend.repository.FormDataRepository;
+import com.example.backend.repository.FormDataSpecifications;
+import com.example.backend.validation.SubmissionValidator;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.log.InterfaceLog;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -18,65 +40,215 @@ import org.springframework.validation.annotation.Validated;
 @RequiredArgsConstructor
 @Slf4j
 @InterfaceLog
+@Metered
 @Validated
 public class FormDataService {
 
+  /** Newest first; {@code id} breaks ties so the keyset is unique. */
+  static final Sort NEWEST_FIRST =
+      Sort.by(Sort.Direction.DESC, "submittedAt").and(Sort.by(Sort.Direction.DESC, "id"));
+
   private final FormDataRepository formDataRepository;
   private final FormService formService;
+  private final SubmissionValidator submissionValidator;
+  private final SubmissionCounters submissionCounters;
+  private final SubmissionArchive submissionArchive;
+  private final FormVersions formVersions;
+  private final SubmissionFeed submissionFeed;
 
   @InterfaceLog
   @Transactional
   public FormData createFormSubmission(@NotNull String formKey, @Valid FormData formData) {
-    // Validate that the form exists
-    formService.getForm(formKey);
+    // Validate that the form exists and the payload matches its fields
+    Form form = formService.getForm(formKey);
+    submissionValidator.validate(form, formData.getData());
 
-    // Set the form key
+    // Set the form key and pin the definition version it was validated against
     formData.setFormKey(formKey);
+    formData.setFormVersion(FormVersion.numberOf(form));
 
     // Save the submission
-    return formDataRepository.save(formData);
+    FormData saved = formDataRepository.save(formData);
+    submissionCounters.added(form, saved);
+    submissionFeed.published(saved);
+    return saved;
   }
 
+  /**
+   * Stores a batch of submissions in one transaction. Each distinct form is resolved once, valid
+   * items are inserted with JDBC batching and invalid items are reported without failing the rest.
+   */
   @InterfaceLog
   @Transactional
-  public FormData updateFormSubmission(@NotNull Long id, @NotNull Map<String, Object> data, String username) {
-    FormData existing = formDataRepository.findById(id)
-        .orElseThrow(() -> new IllegalArgumentException("Submission not found: " + id));
+  public List<FormDataBatchResultDto> createFormSubmissions(
+      @NotNull List<FormDataBatchItemDto> items, @NotNull String username) {
+    FormDataBatchResultDto[] results = new FormDataBatchResultDto[items.size()];
+    Map<String, Optional<Form>> forms = new HashMap<>();
+    List<FormData> accepted = new ArrayList<>();
+    List<Integer> acceptedIndexes = new ArrayList<>();
+
+    for (int i = 0; i < items.size(); i++) {
+      FormDataBatchItemDto item = items.get(i);
+      if (item == null || item.getFormKey() == null || item.getData() == null) {
+        results[i] = rejected(i, "formKey", "formKey and data are required", "Required");
+        continue;
+      }
+      Optional<Form> form = forms.computeIfAbsent(item.getFormKey(), this::findForm);
+      if (form.isEmpty()) {
+        results[i] =
+            rejected(i, "formKey", "Form not found: " + item.getFormKey(), "NotFound");
+        continue;
+      }
+      List<ValidationErrorDto> errors = submissionValidator.check(form.get(), item.getData());
+      if (!errors.isEmpty()) {
+        results[i] = new FormDataBatchResultDto(i, null, errors);
+        continue;
+      }
+      FormData formData = new FormData(item.getFormKey(), item.getData(), username);
+      formData.setFormVersion(FormVersion.numberOf(form.get()));
+      accepted.add(formData);
+      acceptedIndexes.add(i);
+    }
 
-    if (!existing.getSubmittedBy().equals(username)) {
-      throw new SecurityException("You are not authorized to update this submission");
+    List<FormData> saved = formDataRepository.saveAll(accepted);
+    for (int j = 0; j < saved.size(); j++) {
+      int index = acceptedIndexes.get(j);
+      results[index] = new FormDataBatchResultDto(index, saved.get(j).getId(), List.of());
+      submissionCounters.added(forms.get(saved.get(j).getFormKey()).orElseThrow(), saved.get(j));
+      submissionFeed.published(saved.get(j));
     }
+    log.info("Stored {} of {} batched submission(s)", saved.size(), items.size());
+    return Arrays.asList(results);
+  }
+
+  private Optional<Form> findForm(String formKey) {
+    try {
+      return Optional.of(formService.getForm(formKey));
+    } catch (NoSuchElementException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static FormDataBatchResultDto rejected(
+      int index, String field, String message, String code) {
+    return new FormDataBatchResultDto(
+        index, null, List.of(new ValidationErrorDto(field, message, code)));
+  }
 
-    existing.setData(data);
+  /**
+   * Replaces the answers of a submission owned by {@code username}. The row is locked by a read
+   * conditional on the owner and the expected version, the answers are validated against the
+   * current form definition and only then written, pinned to that version.
+   */
+  @InterfaceLog
+  @Transactional
+  public FormData updateFormSubmission(
+      @NotNull Long id, @NotNull SubmissionValues data, String username, Long expectedVersion) {
     log.info("Updating submission: {}", id);
-    return formDataRepository.save(existing);
+    FormData previous =
+        formDataRepository
+            .lockOwned(id, username, expectedVersion)
+            .orElseThrow(() -> notChanged(id, username, expectedVersion, "update"));
+    // Submissions of a retired form cannot be edited
+    Form form = formService.getForm(previous.getFormKey());
+    submissionValidator.validate(form, data);
+    int formVersion = FormVersion.numberOf(form);
+    formDataRepository.replaceLocked(previous, formVersion, data);
+
+    // The answers were counted against the version they were submitted for; the edited answers
+    // were validated against, and are pinned to, the current one
+    submissionCounters.changed(formVersions.of(previous), previous.getData(), form, data);
+    return new FormData(
+        id,
+        previous.getFormKey(),
+        formVersion,
+        data,
+        previous.getSubmittedAt(),
+        username,
+        previous.getVersion() + 1);
   }
 
+  /**
+   * Finds a submission of {@code submittedBy}, or of anyone if that is {@code null}; the owner is
+   * part of the query instead of checked after loading. Falls back to the archive for submissions
+   * that have been moved out of the database.
+   */
   @InterfaceLog
-  public Optional<FormData> getFormSubmissionById(@NotNull Long id) {
-    return formDataRepository.findById(id);
+  public Optional<FormData> getFormSubmissionById(@NotNull Long id, String submittedBy) {
+    if (submittedBy == null) {
+      return formDataRepository.findById(id).or(() -> submissionArchive.findById(id));
+    }
+    return formDataRepository
+        .findByIdAndSubmittedBy(id, submittedBy)
+        .or(
+            () ->
+                submissionArchive
+                    .findById(id)
+                    .filter(archived -> archived.getSubmittedBy().equals(submittedBy)));
   }
 
+  /**
+   * Returns one keyset page of submissions matching the filter, newest first. The cost of a page
+   * is independent of its depth, since the position is a {@code (submittedAt, id)} predicate
+   * instead of an offset.
+   */
   @InterfaceLog
-  public List<FormData> getFormSubmissions() {
-    return formDataRepository.findAll();
+  public Window<FormData> getFormSubmissionPage(
+      @NotNull FormDataFilter filter, @NotNull ScrollPosition position, int limit) {
+    return formDataRepository.findBy(
+        FormDataSpecifications.matching(filter),
+        query -> query.sortBy(NEWEST_FIRST).limit(limit).scroll(position));
   }
 
+  /**
+   * Like {@link #getFormSubmissionPage}, for a filter with answer predicates. The form key is
+   * required and the predicates may only name fields of that form.
+   */
   @InterfaceLog
-  public List<FormData> getFormSubmissionsByOwner(@NotNull String username) {
-    return formDataRepository.findBySubmittedByOrderBySubmittedAtDesc(username);
+  public Window<FormData> queryFormSubmissions(
+      @NotNull FormDataFilter filter, @NotNull ScrollPosition position, int limit) {
+    if (filter.getFormKey() == null) {
+      throw new IllegalArgumentException("formKey is required");
+    }
+    Set<String> fieldNames =
+        formService.getForm(filter.getFormKey()).getFields().stream()
+            .map(Field::getName)
+            .collect(Collectors.toSet());
+    for (FieldPredicateDto predicate : filter.getPredicates()) {
+      if (!fieldNames.contains(predicate.getField())) {
+        throw new IllegalArgumentException(
+            "Form " + filter.getFormKey() + " has no field " + predicate.getField());
+      }
+    }
+    return getFormSubmissionPage(filter, position, limit);
   }
 
+  /** Deletes a submission owned by {@code username} in one statement returning the old row. */
   @InterfaceLog
   @Transactional
   public void deleteFormSubmission(@NotNull Long id, @NotNull String username) {
-    FormData existing = formDataRepository.findById(id)
-        .orElseThrow(() -> new IllegalArgumentException("Submission not found: " + id));
+    FormData previous =
+        formDataRepository
+            .deleteOwned(id, username)
+            .orElseThrow(() -> notChanged(id, username, null, "delete"));
+    submissionCounters.removed(formVersions.of(previous), previous);
+  }
 
-    if (!existing.getSubmittedBy().equals(username)) {
-      throw new SecurityException("You are not authorized to delete this submission");
+  /**
+   * Why a change of submission {@code id} by {@code username} matched no row. Other users' answers
+   * are never read; a missing submission, a foreign one and a stale version are told apart only
+   * after the statement found nothing.
+   */
+  private RuntimeException notChanged(
+      Long id, String username, Long expectedVersion, String action) {
+    Optional<FormData> owned = formDataRepository.findByIdAndSubmittedBy(id, username);
+    if (owned.isPresent()) {
+      return new PreconditionFailedException(
+          "Submission " + id + " is at version " + owned.get().getVersion()
+              + ", not " + expectedVersion);
     }
-
-    formDataRepository.deleteById(id);
+    return formDataRepository.existsById(id)
+        ? new SecurityException("You are not authorized to " + action + " this submission")
+        : new IllegalArgumentException("Submission not found: " + id);
   }
 }
@@ -1,14 +1,26 @@
 package com.example.backend.service;
 
+import com.example.backend.archive.SubmissionArchive;
+import com.example.backend.config.CacheConfig;
 import com.example.backend.dto.FormListItemDto;
 import com.example.backend.entity.Form;
-import com.example.backend.mapper.FormListItemMapper;
+import com.example.backend.entity.FormData;
+import com.example.backend.metrics.Metered;
+import com.example.backend.repository.FormDataRepository;
 import com.example.backend.repository.FormRepository;
-import java.util.List;
+import com.example.backend.repository.SubmissionKeyDictionary;
+import com.example.backend.util.ETagUtils;
 import java.util.NoSuchElementException;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.log.InterfaceLog;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,59 +28,99 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @Slf4j
 @InterfaceLog
+@Metered
 public class FormService {
 
+  /** {@code formKey} is unique, so it makes the order total and pages stable. */
+  private static final Sort BY_TITLE = Sort.by("title", "formKey");
+
   private final FormRepository formRepository;
-  private final FormListItemMapper formListItemMapper;
+  private final FormDataRepository formDataRepository;
+  private final SubmissionKeyDictionary submissionKeyDictionary;
+  private final FormVersions formVersions;
+  private final SubmissionArchive submissionArchive;
 
+  /** One page of forms ordered by title, optionally filtered by a case-insensitive title match. */
   @InterfaceLog
-  public List<FormListItemDto> getForms() {
-    return formRepository.findAll().stream()
-        .map(formListItemMapper::toListItemDto)
-        .toList();
+  public Slice<FormListItemDto> getForms(String titleSearch, int page, int size) {
+    Pageable pageable = PageRequest.of(page, size, BY_TITLE);
+    return titleSearch == null || titleSearch.isBlank()
+        ? formRepository.findListItemsByRetiredFalse(pageable)
+        : formRepository.findListItemsByRetiredFalseAndTitleContainingIgnoreCase(
+            titleSearch.trim(), pageable);
   }
 
   @InterfaceLog
+  @Cacheable(cacheNames = CacheConfig.FORMS, key = "#formKey", sync = true)
   public Form getForm(String formKey) {
     return formRepository
         .findByFormKey(formKey)
+        .filter(form -> !form.isRetired())
         .orElseThrow(() -> new NoSuchElementException("Form not found: " + formKey));
   }
 
   @InterfaceLog
   @Transactional
+  @CacheEvict(cacheNames = CacheConfig.FORMS, key = "#form.formKey")
   public Form saveForm(Form form) {
     log.info("Saving form definition: {}", form.getFormKey());
-    return formRepository.save(form);
+    Form saved = formRepository.saveAndFlush(form);
+    formVersions.snapshot(saved);
+    return saved;
   }
 
   @InterfaceLog
   @Transactional
-  public Form updateForm(String formKey, Form updatedDefinition) {
+  @CacheEvict(cacheNames = CacheConfig.FORMS, key = "#formKey")
+  public Form updateForm(
+      String formKey, Form updatedDefinition, ETagUtils.EntityTag expected) {
     Form existing =
         formRepository
             .findByFormKey(formKey)
+            .filter(form -> !form.isRetired())
             .orElseThrow(() -> new NoSuchElementException("Form not found: " + formKey));
+    // The id is compared too: a form deleted and created again restarts at version 0
+    if (expected != null && !expected.matches(existing.getId(), existing.getVersion())) {
+      throw new PreconditionFailedException(
+          "Form " + formKey + " is at " + ETagUtils.toETag(existing.getId(), existing.getVersion())
+              + ", not " + expected.eTag());
+    }
 
     existing.setTitle(updatedDefinition.getTitle());
     existing.setDescription(updatedDefinition.getDescription());
     existing.setFields(updatedDefinition.getFields());
 
     log.info("Updating form definition: {}", formKey);
-    return formRepository.save(existing);
+    // Flushed so the version is incremented before it numbers the snapshot
+    Form saved = formRepository.saveAndFlush(existing);
+    formVersions.snapshot(saved);
+    return saved;
   }
 
   @InterfaceLog
   @Transactional
+  @CacheEvict(cacheNames = CacheConfig.FORMS, key = "#formKey")
   public void deleteForm(String formKey) {
     Form existing =
         formRepository
             .findByFormKey(formKey)
             .orElseThrow(() -> new NoSuchElementException("Form not found: " + formKey));
+    if (formDataRepository.existsByFormKey(formKey) || hasArchivedSubmissions(formKey)) {
+      throw new IllegalStateException("Form " + formKey + " still has submissions");
+    }
+    formVersions.forget(existing);
     formRepository.delete(existing);
+    submissionKeyDictionary.forgetForm(formKey);
     log.info("Deleted form definition: {}", formKey);
   }
 
+  // Archived submissions are pinned to form versions too, so they keep the snapshots alive
+  private boolean hasArchivedSubmissions(String formKey) {
+    try (Stream<FormData> archived = submissionArchive.streamByFormKey(formKey)) {
+      return archived.findAny().isPresent();
+    }
+  }
+
   @InterfaceLog
   public boolean existsByFormKey(String formKey) {
     return formRepository.existsByFormKey(formKey);
@@ -0,0 +1,130 @@
+package com.example.backend.service;
+
+import com.example.backend.config.CacheConfig;
+import com.example.backend.dto.FormStatsDto;
+import com.example.backend.dto.TimeBucketCountDto;
+import com.example.backend.entity.Field;
+import com.example.backend.entity.FieldOption;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormCounter;
+import com.example.backend.metrics.Metered;
+import com.example.backend.repository.FormCounterRepository;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.log.InterfaceLog;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Per-form answer statistics, read from the {@link FormCounter} rollups that {@link
+ * SubmissionCounters} maintains, so the cost depends on the number of options and days rather than
+ * on the number of submissions. Results are lined up with the form definition, e.g. options nobody
+ * chose get a zero.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@InterfaceLog
+@Metered
+public class FormStatsService {
+
+  private final FormService formService;
+  private final FormCounterRepository formCounterRepository;
+
+  @Getter
+  @RequiredArgsConstructor
+  public enum Bucket {
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month");
+
+    private final String unit;
+
+    /** First day of the bucket containing {@code day}; weeks start on Monday. */
+    LocalDate startOf(LocalDate day) {
+      return switch (this) {
+        case DAY -> day;
+        case WEEK -> day.with(DayOfWeek.MONDAY);
+        case MONTH -> day.withDayOfMonth(1);
+      };
+    }
+
+    public static Bucket parse(String value) {
+      try {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Unsupported bucket: " + value);
+      }
+    }
+  }
+
+  @InterfaceLog
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.FORM_STATS, key = "#formKey + ':' + #bucket", sync = true)
+  public FormStatsDto getStats(String formKey, Bucket bucket) {
+    Form form = formService.getForm(formKey);
+    Map<LocalDate, Long> perBucket = new TreeMap<>();
+    Map<String, Map<String, Long>> valueCounts = new HashMap<>();
+    Map<String, Long> answered = new HashMap<>();
+    for (FormCounter counter : formCounterRepository.findByIdFormKey(formKey)) {
+      FormCounter.Key key = counter.getId();
+      switch (key.getKind()) {
+        case DAY ->
+            perBucket.merge(
+                bucket.startOf(LocalDate.parse(key.getItemValue())), counter.getTotal(), Long::sum);
+        case OPTION ->
+            valueCounts
+                .computeIfAbsent(key.getFieldName(), field -> new HashMap<>())
+                .put(key.getItemValue(), counter.getTotal());
+        case ANSWERED -> answered.put(key.getFieldName(), counter.getTotal());
+      }
+    }
+
+    List<TimeBucketCountDto> timeline = new ArrayList<>();
+    perBucket.forEach(
+        (start, count) -> {
+          if (count > 0) {
+            timeline.add(new TimeBucketCountDto(start.atStartOfDay(), count));
+          }
+        });
+    long submissionCount = timeline.stream().mapToLong(TimeBucketCountDto::getCount).sum();
+
+    Map<String, Map<String, Long>> optionCounts = new LinkedHashMap<>();
+    Map<String, Double> completionRates = new LinkedHashMap<>();
+    for (Field field : form.getFields()) {
+      if (field.getOptions() != null && !field.getOptions().isEmpty()) {
+        Map<String, Long> counts = valueCounts.getOrDefault(field.getName(), Map.of());
+        Map<String, Long> byOption = new LinkedHashMap<>();
+        for (FieldOption option : field.getOptions()) {
+          byOption.put(option.getValue(), counts.getOrDefault(option.getValue(), 0L));
+        }
+        optionCounts.put(field.getName(), byOption);
+      }
+      if (!field.isRequired()) {
+        long count = answered.getOrDefault(field.getName(), 0L);
+        completionRates.put(
+            field.getName(), submissionCount == 0 ? 0.0 : (double) count / submissionCount);
+      }
+    }
+
+    return FormStatsDto.builder()
+        .formKey(formKey)
+        .submissionCount(submissionCount)
+        .bucket(bucket.getUnit())
+        .submissionsOverTime(timeline)
+        .optionCounts(optionCounts)
+        .completionRates(completionRates)
+        .build();
+  }
+}
@@ -0,0 +1,68 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormData;
+import com.example.backend.entity.FormVersion;
+import com.example.backend.repository.FormVersionRepository;
+import com.example.backend.repository.SubmissionKeyDictionary;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * The numbered, immutable snapshots of form definitions that submissions are pinned to. A snapshot
+ * never changes once written, so each one is loaded at most once and then kept for the life of
+ * the process; resolving the definition of a submission is two map reads.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FormVersions {
+
+  private final FormVersionRepository formVersionRepository;
+  private final SubmissionKeyDictionary submissionKeyDictionary;
+  private final Map<FormVersion.Key, Form> forms = new ConcurrentHashMap<>();
+
+  /**
+   * Records the current definition of {@code form}, which must have been flushed so its version is
+   * final. Saving a form without changes keeps its version, and the existing snapshot stands.
+   */
+  public void snapshot(Form form) {
+    FormVersion version = FormVersion.of(form);
+    // Not cached here: the snapshot only becomes visible once the transaction commits
+    if (!formVersionRepository.existsById(version.getId())) {
+      formVersionRepository.save(version);
+      log.info("Recorded version {} of form {}", version.getId().getVersion(), form.getFormKey());
+    }
+  }
+
+  /** The definition of form {@code formKey} at {@code version}, as a read-only {@link Form}. */
+  public Form get(String formKey, int version) {
+    FormVersion.Key key =
+        new FormVersion.Key(submissionKeyDictionary.formId(formKey), version);
+    return forms.computeIfAbsent(
+        key,
+        k ->
+            formVersionRepository
+                .findById(k)
+                .map(snapshot -> snapshot.toForm(formKey))
+                .orElseThrow(
+                    () ->
+                        new NoSuchElementException(
+                            "Form " + formKey + " has no version " + version)));
+  }
+
+  /** The definition {@code formData} was submitted against. */
+  public Form of(FormData formData) {
+    return get(formData.getFormKey(), formData.getFormVersion());
+  }
+
+  /** Removes the snapshots of a form that is being deleted. */
+  public void forget(Form form) {
+    formVersionRepository.deleteByFormId(form.getId());
+    forms.keySet().removeIf(key -> key.getFormId().equals(form.getId()));
+  }
+}
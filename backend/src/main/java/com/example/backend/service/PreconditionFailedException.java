@@ -0,0 +1,9 @@
+package com.example.backend.service;
+
+/** The client's {@code If-Match} version is no longer the current one. */
+public class PreconditionFailedException extends RuntimeException {
+
+  public PreconditionFailedException(String message) {
+    super(message);
+  }
+}
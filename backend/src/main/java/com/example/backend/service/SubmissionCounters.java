@@ -0,0 +1,191 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Field;
+import com.example.backend.entity.FieldOption;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormCounter;
+import com.example.backend.entity.FormCounter.Kind;
+import com.example.backend.entity.FormData;
+import com.example.backend.repository.FormCounterRepository;
+import com.example.backend.util.TransactionUtils;
+import com.example.backend.validation.FormSchema;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the {@link FormCounter} rollups in step with submission writes. Changes are turned into
+ * counter deltas once their transaction commits and summed in memory; a background flusher writes
+ * them every {@code flush-interval}, so a busy form costs one counter update per interval instead
+ * of one per submission, and request transactions never wait on the shared counter rows.
+ *
+ * <p>Deltas not yet flushed are lost if the process dies; the counters can then be rebuilt from
+ * {@code form_data} with the backfill statements of the {@code V7} migration.
+ */
+@Component
+@Slf4j
+public class SubmissionCounters {
+
+  private final FormCounterRepository formCounterRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration flushInterval;
+  private final Map<FormCounter.Key, Long> pending = new ConcurrentHashMap<>();
+  private final Thread flusher;
+  private volatile boolean running = true;
+
+  public SubmissionCounters(
+      FormCounterRepository formCounterRepository,
+      TransactionTemplate transactionTemplate,
+      @Value("${submission.counters.flush-interval:1s}") Duration flushInterval) {
+    this.formCounterRepository = formCounterRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.flushInterval = flushInterval;
+    this.flusher = Thread.ofPlatform().name("counter-flusher").daemon().unstarted(this::run);
+  }
+
+  @PostConstruct
+  void start() {
+    flusher.start();
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    flusher.interrupt();
+    flusher.join(Duration.ofSeconds(30));
+    flush();
+  }
+
+  /** Counts a new submission. */
+  public void added(Form form, FormData formData) {
+    TransactionUtils.afterCommit(
+        () -> {
+          LocalDate day =
+              formData.getSubmittedAt() != null
+                  ? formData.getSubmittedAt().toLocalDate()
+                  : LocalDate.now();
+          add(key(form.getFormKey(), Kind.DAY, "", day.toString()), 1);
+          addAnswers(form, formData.getData(), 1);
+        });
+  }
+
+  /**
+   * Moves the answer counts of an edited submission from its old answers, counted against the
+   * definition {@code previous} they were submitted for, to its new answers under {@code form}.
+   */
+  public void changed(
+      Form previous, Map<String, Object> before, Form form, Map<String, Object> after) {
+    TransactionUtils.afterCommit(
+        () -> {
+          addAnswers(previous, before, -1);
+          addAnswers(form, after, 1);
+        });
+  }
+
+  /** Uncounts a deleted submission; {@code form} is the definition it was submitted for. */
+  public void removed(Form form, FormData formData) {
+    TransactionUtils.afterCommit(
+        () -> {
+          add(
+              key(
+                  form.getFormKey(),
+                  Kind.DAY,
+                  "",
+                  formData.getSubmittedAt().toLocalDate().toString()),
+              -1);
+          addAnswers(form, formData.getData(), -1);
+        });
+  }
+
+  /** Writes all pending deltas in one transaction. */
+  void flush() {
+    Map<FormCounter.Key, Long> batch = new HashMap<>();
+    for (FormCounter.Key key : pending.keySet()) {
+      Long delta = pending.remove(key);
+      if (delta != null) {
+        batch.put(key, delta);
+      }
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      transactionTemplate.executeWithoutResult(status -> batch.forEach(this::write));
+    } catch (RuntimeException e) {
+      // one bad counter must not hold back the others; retry individually to isolate it
+      log.warn("Flushing {} counter(s) failed, retrying one by one", batch.size(), e);
+      batch.forEach(
+          (key, delta) -> {
+            try {
+              transactionTemplate.executeWithoutResult(status -> write(key, delta));
+            } catch (RuntimeException itemFailure) {
+              // e.g. another instance inserted the same new counter first; the next flush
+              // updates it instead
+              log.warn("Flushing counter {} failed, keeping it for the next flush", key);
+              add(key, delta);
+            }
+          });
+    }
+  }
+
+  private void write(FormCounter.Key key, long delta) {
+    if (formCounterRepository.increment(key, delta) == 0) {
+      formCounterRepository.save(new FormCounter(key, delta));
+    }
+  }
+
+  private void run() {
+    while (running) {
+      try {
+        Thread.sleep(flushInterval);
+      } catch (InterruptedException e) {
+        return;
+      }
+      try {
+        flush();
+      } catch (RuntimeException e) {
+        log.error("Counter flusher failed", e);
+      }
+    }
+  }
+
+  private void addAnswers(Form form, Map<String, Object> data, long delta) {
+    for (Field field : form.getFields()) {
+      Object value = data.get(field.getName());
+      if (FormSchema.isEmpty(value)) {
+        continue;
+      }
+      if (!field.isRequired()) {
+        add(key(form.getFormKey(), Kind.ANSWERED, field.getName(), ""), delta);
+      }
+      if (field.getOptions() != null && !field.getOptions().isEmpty()) {
+        Collection<?> values = value instanceof Collection<?> c ? c : List.of(value);
+        for (Object item : values) {
+          String option = String.valueOf(item);
+          // Only defined options, so free-form input cannot grow the table
+          if (field.getOptions().stream().map(FieldOption::getValue).anyMatch(option::equals)) {
+            add(key(form.getFormKey(), Kind.OPTION, field.getName(), option), delta);
+          }
+        }
+      }
+    }
+  }
+
+  private void add(FormCounter.Key key, long delta) {
+    pending.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+  }
+
+  private static FormCounter.Key key(String formKey, Kind kind, String fieldName, String value) {
+    return new FormCounter.Key(formKey, kind, fieldName, value);
+  }
+}
@@ -0,0 +1,165 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.FormDataDto;
+import com.example.backend.entity.FormData;
+import com.example.backend.mapper.FormDataMapper;
+import com.example.backend.util.TransactionUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes new submissions to the clients watching a form as server-sent events. Submissions are
+ * published once their transaction commits and fanned out by this one broadcaster. Each subscriber
+ * has a bounded buffer that drops its oldest event when the client falls behind, and is drained on
+ * a virtual thread only while it has events, so an idle subscriber holds no thread.
+ */
+@Component
+@Slf4j
+public class SubmissionFeed {
+
+  static final String EVENT = "submission";
+
+  private final FormDataMapper formDataMapper;
+  private final int bufferSize;
+  private final Duration timeout;
+  private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+  private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+  private final Counter dropped;
+
+  public SubmissionFeed(
+      FormDataMapper formDataMapper,
+      MeterRegistry meterRegistry,
+      @Value("${submission.feed.buffer-size:256}") int bufferSize,
+      @Value("${submission.feed.timeout:30m}") Duration timeout) {
+    this.formDataMapper = formDataMapper;
+    this.bufferSize = bufferSize;
+    this.timeout = timeout;
+    Gauge.builder(
+            "submission.feed.subscribers",
+            subscribers,
+            map -> map.values().stream().mapToInt(Set::size).sum())
+        .register(meterRegistry);
+    this.dropped = Counter.builder("submission.feed.dropped").register(meterRegistry);
+  }
+
+  /** Opens a stream of the submissions of {@code formKey} made from now on. */
+  public SseEmitter subscribe(String formKey) {
+    return subscribe(formKey, new SseEmitter(timeout.toMillis()));
+  }
+
+  SseEmitter subscribe(String formKey, SseEmitter emitter) {
+    Subscriber subscriber = new Subscriber(formKey, emitter);
+    subscribers.compute(
+        formKey,
+        (key, set) -> {
+          Set<Subscriber> members = set != null ? set : ConcurrentHashMap.newKeySet();
+          members.add(subscriber);
+          return members;
+        });
+    emitter.onCompletion(() -> remove(subscriber));
+    emitter.onTimeout(emitter::complete);
+    emitter.onError(e -> remove(subscriber));
+    return emitter;
+  }
+
+  /** Sends {@code formData} to the subscribers of its form once the transaction commits. */
+  public void published(FormData formData) {
+    if (subscribers.containsKey(formData.getFormKey())) {
+      TransactionUtils.afterCommit(() -> publish(formData));
+    }
+  }
+
+  private void publish(FormData formData) {
+    Set<Subscriber> members = subscribers.get(formData.getFormKey());
+    if (members == null) {
+      return;
+    }
+    FormDataDto event = formDataMapper.toDto(formData);
+    members.forEach(subscriber -> subscriber.offer(event));
+  }
+
+  private void remove(Subscriber subscriber) {
+    subscribers.computeIfPresent(
+        subscriber.formKey,
+        (key, set) -> {
+          set.remove(subscriber);
+          return set.isEmpty() ? null : set;
+        });
+  }
+
+  @PreDestroy
+  void stop() {
+    subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    senders.shutdown();
+  }
+
+  private final class Subscriber {
+
+    private final String formKey;
+    private final SseEmitter emitter;
+    // Both guarded by this
+    private final Deque<FormDataDto> buffer = new ArrayDeque<>();
+    private boolean draining;
+
+    Subscriber(String formKey, SseEmitter emitter) {
+      this.formKey = formKey;
+      this.emitter = emitter;
+    }
+
+    void offer(FormDataDto event) {
+      synchronized (this) {
+        if (buffer.size() == bufferSize) {
+          buffer.pollFirst();
+          dropped.increment();
+        }
+        buffer.addLast(event);
+        if (draining) {
+          return;
+        }
+        draining = true;
+      }
+      senders.execute(this::drain);
+    }
+
+    private void drain() {
+      while (true) {
+        FormDataDto event;
+        synchronized (this) {
+          event = buffer.pollFirst();
+          if (event == null) {
+            draining = false;
+            return;
+          }
+        }
+        try {
+          emitter.send(
+              SseEmitter.event()
+                  .name(EVENT)
+                  .id(String.valueOf(event.getId()))
+                  .data(event, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+          // The client went away; stay "draining" so nothing is scheduled for it again
+          log.debug("Dropping feed subscriber of form {}: {}", formKey, e.getMessage());
+          remove(this);
+          return;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.backend.service;
+
+public class SubmissionQueueFullException extends RuntimeException {
+
+  public SubmissionQueueFullException() {
+    super("Submission queue is full, retry later");
+  }
+}
@@ -0,0 +1,212 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.SubmissionReceiptDto;
+import com.example.backend.dto.SubmissionReceiptDto.Status;
+import com.example.backend.dto.ValidationErrorDto;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormData;
+import com.example.backend.entity.FormVersion;
+import com.example.backend.repository.FormDataRepository;
+import com.example.backend.validation.SubmissionValidator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Accept-then-persist mode for submissions. Payloads are validated on the request thread, put on a
+ * bounded queue and written by a single background writer in batches, so request threads do not
+ * hold a database connection. When the queue is full callers get {@link
+ * SubmissionQueueFullException} and should back off.
+ */
+@Component
+@ConditionalOnProperty(name = "submission.write-behind.enabled", havingValue = "true")
+@Slf4j
+public class SubmissionWriteBehindQueue {
+
+  private record PendingSubmission(String trackingId, Form form, FormData formData) {}
+
+  private record TrackedSubmission(String owner, SubmissionReceiptDto receipt) {}
+
+  private final FormService formService;
+  private final SubmissionValidator submissionValidator;
+  private final FormDataRepository formDataRepository;
+  private final SubmissionCounters submissionCounters;
+  private final SubmissionFeed submissionFeed;
+  private final TransactionTemplate transactionTemplate;
+  private final BlockingQueue<PendingSubmission> queue;
+  private final Cache<String, TrackedSubmission> tracking;
+  private final int batchSize;
+  private final Duration flushInterval;
+  private final Thread writer;
+  private volatile boolean running = true;
+
+  public SubmissionWriteBehindQueue(
+      FormService formService,
+      SubmissionValidator submissionValidator,
+      FormDataRepository formDataRepository,
+      SubmissionCounters submissionCounters,
+      SubmissionFeed submissionFeed,
+      TransactionTemplate transactionTemplate,
+      @Value("${submission.write-behind.capacity:10000}") int capacity,
+      @Value("${submission.write-behind.batch-size:200}") int batchSize,
+      @Value("${submission.write-behind.flush-interval:100ms}") Duration flushInterval,
+      @Value("${submission.write-behind.tracking-ttl:1h}") Duration trackingTtl) {
+    this.formService = formService;
+    this.submissionValidator = submissionValidator;
+    this.formDataRepository = formDataRepository;
+    this.submissionCounters = submissionCounters;
+    this.submissionFeed = submissionFeed;
+    this.transactionTemplate = transactionTemplate;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.tracking =
+        Caffeine.newBuilder().maximumSize(capacity * 10L).expireAfterWrite(trackingTtl).build();
+    this.batchSize = batchSize;
+    this.flushInterval = flushInterval;
+    this.writer = Thread.ofPlatform().name("submission-writer").daemon().unstarted(this::drain);
+  }
+
+  @PostConstruct
+  void start() {
+    writer.start();
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    if (writer.isAlive()) {
+      writer.join(Duration.ofSeconds(30));
+    }
+    if (!queue.isEmpty()) {
+      log.warn("Shutting down with {} queued submission(s) not persisted", queue.size());
+    }
+  }
+
+  public SubmissionReceiptDto accept(String formKey, FormData formData) {
+    Form form = formService.getForm(formKey);
+    submissionValidator.validate(form, formData.getData());
+    formData.setFormKey(formKey);
+    formData.setFormVersion(FormVersion.numberOf(form));
+
+    String trackingId = UUID.randomUUID().toString();
+    SubmissionReceiptDto receipt = new SubmissionReceiptDto(trackingId, Status.QUEUED, null, null);
+    tracking.put(trackingId, new TrackedSubmission(formData.getSubmittedBy(), receipt));
+    if (!queue.offer(new PendingSubmission(trackingId, form, formData))) {
+      tracking.invalidate(trackingId);
+      throw new SubmissionQueueFullException();
+    }
+    return receipt;
+  }
+
+  /**
+   * The receipt of {@code trackingId} if {@code username} made the submission. Another user's
+   * tracking id looks the same as an unknown one, so its existence is not revealed.
+   */
+  public Optional<SubmissionReceiptDto> getStatus(String trackingId, String username) {
+    return Optional.ofNullable(tracking.getIfPresent(trackingId))
+        .filter(tracked -> tracked.owner().equals(username))
+        .map(TrackedSubmission::receipt);
+  }
+
+  int size() {
+    return queue.size();
+  }
+
+  private void drain() {
+    List<PendingSubmission> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        PendingSubmission first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        persist(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.error("Submission writer failed", e);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void persist(List<PendingSubmission> batch) {
+    try {
+      List<FormData> formData = batch.stream().map(PendingSubmission::formData).toList();
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            formDataRepository.saveAll(formData);
+            batch.forEach(
+                pending -> {
+                  submissionCounters.added(pending.form(), pending.formData());
+                  submissionFeed.published(pending.formData());
+                });
+          });
+      batch.forEach(pending -> markPersisted(pending, pending.formData()));
+    } catch (RuntimeException e) {
+      // one bad row must not fail its neighbours; retry individually to isolate it
+      log.warn("Batch of {} submission(s) failed, retrying one by one", batch.size(), e);
+      for (PendingSubmission pending : batch) {
+        // The failed persist assigned an id and a version; without both cleared the retry would
+        // be a merge into a new copy instead of an insert of this instance
+        pending.formData().setId(null);
+        pending.formData().setVersion(null);
+        try {
+          FormData saved =
+              transactionTemplate.execute(
+                  status -> {
+                    FormData stored = formDataRepository.save(pending.formData());
+                    submissionCounters.added(pending.form(), stored);
+                    submissionFeed.published(stored);
+                    return stored;
+                  });
+          markPersisted(pending, saved);
+        } catch (RuntimeException itemFailure) {
+          markFailed(pending, itemFailure);
+        }
+      }
+    }
+  }
+
+  private void markPersisted(PendingSubmission pending, FormData saved) {
+    update(
+        pending,
+        new SubmissionReceiptDto(pending.trackingId(), Status.PERSISTED, saved.getId(), null));
+  }
+
+  private void markFailed(PendingSubmission pending, RuntimeException e) {
+    log.error("Failed to persist queued submission {}", pending.trackingId(), e);
+    update(
+        pending,
+        new SubmissionReceiptDto(
+            pending.trackingId(),
+            Status.FAILED,
+            null,
+            List.of(
+                new ValidationErrorDto(
+                    null, "Submission could not be stored", "PersistFailed"))));
+  }
+
+  private void update(PendingSubmission pending, SubmissionReceiptDto receipt) {
+    tracking.put(
+        pending.trackingId(),
+        new TrackedSubmission(pending.formData().getSubmittedBy(), receipt));
+  }
+}
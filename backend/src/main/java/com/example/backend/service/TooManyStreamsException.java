@@ -0,0 +1,8 @@
+package com.example.backend.service;
+
+public class TooManyStreamsException extends RuntimeException {
+
+  public TooManyStreamsException() {
+    super("Too many submission streams are open, retry later");
+  }
+}
@@ -0,0 +1,26 @@
+package com.example.backend.util;
+
+import java.io.Serializable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * The caller of a request. Built once when the bearer token is authenticated, so controllers read
+ * the username and admin flag instead of recomputing them from the token on every use.
+ */
+public record AuthenticatedUser(String username, boolean admin) implements Serializable {
+
+  public static AuthenticatedUser of(Authentication authentication) {
+    Jwt jwt =
+        authentication != null && authentication.getPrincipal() instanceof Jwt principal
+            ? principal
+            : null;
+    return new AuthenticatedUser(
+        SecurityUtils.getUsername(jwt), SecurityUtils.isAdmin(authentication));
+  }
+
+  /** The submitter queries are restricted to: the user itself, or {@code null} for admins. */
+  public String ownerFilter() {
+    return admin ? null : username;
+  }
+}
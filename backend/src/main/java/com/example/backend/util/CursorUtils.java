@@ -0,0 +1,43 @@
+package com.example.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Encodes keyset positions over {@code (submittedAt, id)} as opaque URL-safe tokens, so clients
+ * can page through submissions without knowing the sort keys.
+ */
+public class CursorUtils {
+
+  private static final String SEPARATOR = "|";
+
+  public static String encode(KeysetScrollPosition position) {
+    Map<String, ?> keys = position.getKeys();
+    String raw = keys.get("submittedAt") + SEPARATOR + keys.get("id");
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static KeysetScrollPosition decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return ScrollPosition.keyset();
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf(SEPARATOR);
+      Map<String, Object> keys = new LinkedHashMap<>();
+      keys.put("submittedAt", LocalDateTime.parse(raw.substring(0, separator)));
+      keys.put("id", Long.valueOf(raw.substring(separator + 1)));
+      return ScrollPosition.forward(keys);
+    } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+  }
+}
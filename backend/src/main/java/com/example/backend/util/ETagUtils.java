@@ -0,0 +1,105 @@
+package com.example.backend.util;
+
+/**
+ * Entity tags for versioned entities. The tag is the {@code @Version} value, so comparing a
+ * client's tag with the current one needs no hashing of the representation. Entities addressed by
+ * a reusable key, such as forms, also put their id in the tag.
+ */
+public class ETagUtils {
+
+  /** A tag naming an entity's id and version; {@code id} is null for a version-only tag. */
+  public record EntityTag(Long id, long version) {
+
+    public boolean matches(Long currentId, Long currentVersion) {
+      return id != null && id.equals(currentId) && Long.valueOf(version).equals(currentVersion);
+    }
+
+    public String eTag() {
+      return id != null ? toETag(id, version) : toETag(version);
+    }
+  }
+
+  public static String toETag(Long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Tag of a content-coded variant. Strong tags must differ between codings of the same version,
+   * so the coding is appended to the version.
+   */
+  public static String toETag(Long version, String contentCoding) {
+    return "\"" + version + "-" + contentCoding + "\"";
+  }
+
+  /**
+   * Tag of an entity whose key can be reused after a delete. A new entity starts at version 0
+   * again, so the id tells it apart from the one a client cached.
+   */
+  public static String toETag(Long id, Long version) {
+    return "\"" + id + "." + version + "\"";
+  }
+
+  public static String toETag(Long id, Long version, String contentCoding) {
+    return "\"" + id + "." + version + "-" + contentCoding + "\"";
+  }
+
+  /**
+   * Returns the version named by an {@code If-Match} header, or {@code null} when the update is
+   * unconditional (no header or {@code *}). Only a single tag is supported; a weak tag is accepted
+   * because proxies that compress responses weaken the tags they pass on, and so is the tag of a
+   * content-coded variant.
+   */
+  public static Long parseIfMatch(String ifMatch) {
+    String tag = opaqueTag(ifMatch);
+    return tag != null ? parseVersion(tag, ifMatch) : null;
+  }
+
+  /**
+   * Like {@link #parseIfMatch(String)} for tags made by {@link #toETag(Long, Long)}. A tag without
+   * an id is still parsed, but never {@linkplain EntityTag#matches matches}.
+   */
+  public static EntityTag parseIfMatchWithId(String ifMatch) {
+    String tag = opaqueTag(ifMatch);
+    if (tag == null) {
+      return null;
+    }
+    int dot = tag.indexOf('.');
+    if (dot < 0) {
+      return new EntityTag(null, parseVersion(tag, ifMatch));
+    }
+    try {
+      return new EntityTag(
+          Long.parseLong(tag.substring(0, dot)), parseVersion(tag.substring(dot + 1), ifMatch));
+    } catch (NumberFormatException e) {
+      throw malformed(ifMatch);
+    }
+  }
+
+  /** The opaque part of a single tag, or {@code null} for an unconditional request. */
+  private static String opaqueTag(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    String tag = ifMatch.trim();
+    if (tag.startsWith("W/")) {
+      tag = tag.substring(2);
+    }
+    if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+      return tag.substring(1, tag.length() - 1);
+    }
+    throw malformed(ifMatch);
+  }
+
+  private static long parseVersion(String tag, String ifMatch) {
+    String version = tag.indexOf('-') > 0 ? tag.substring(0, tag.indexOf('-')) : tag;
+    try {
+      return Long.parseLong(version);
+    } catch (NumberFormatException e) {
+      throw malformed(ifMatch);
+    }
+  }
+
+  private static IllegalArgumentException malformed(String ifMatch) {
+    return new IllegalArgumentException("Malformed If-Match header: " + ifMatch);
+  }
+}
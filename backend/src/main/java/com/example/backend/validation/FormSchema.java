@@ -0,0 +1,185 @@
+package com.example.backend.validation;
+
+import com.example.backend.dto.ValidationErrorDto;
+import com.example.backend.entity.Field;
+import com.example.backend.entity.FieldOption;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.SubmissionValues;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Validator compiled once from a {@link Form} definition: fields are indexed by name and option
+ * values are kept in hash sets, so checking a submission is a single pass over its entries.
+ */
+public final class FormSchema {
+
+  private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+  private static final Pattern TEL = Pattern.compile("^\\+?[0-9 ()./-]{3,32}$");
+
+  enum FieldType {
+    TEXT,
+    EMAIL,
+    TEL,
+    NUMBER,
+    DATE,
+    TEXTAREA,
+    SELECT,
+    RADIO,
+    CHECKBOX
+  }
+
+  record FieldRule(
+      String name, String label, FieldType type, boolean required, Set<String> options) {}
+
+  private final String formKey;
+  private final Map<String, FieldRule> rules;
+  private final SubmissionValues.Layout layout;
+
+  private FormSchema(
+      String formKey, Map<String, FieldRule> rules, SubmissionValues.Layout layout) {
+    this.formKey = formKey;
+    this.rules = rules;
+    this.layout = layout;
+  }
+
+  public static FormSchema compile(Form form) {
+    Map<String, FieldRule> rules = new HashMap<>();
+    List<Field> fields = form.getFields() != null ? form.getFields() : List.of();
+    for (Field field : fields) {
+      Set<String> options =
+          field.getOptions() == null
+              ? null
+              : field.getOptions().stream()
+                  .map(FieldOption::getValue)
+                  .collect(Collectors.toUnmodifiableSet());
+      rules.put(
+          field.getName(),
+          new FieldRule(
+              field.getName(),
+              field.getLabel() != null ? field.getLabel() : field.getName(),
+              FieldType.valueOf(field.getType().toUpperCase(Locale.ROOT)),
+              field.isRequired(),
+              options));
+    }
+    return new FormSchema(
+        form.getFormKey(), Map.copyOf(rules), SubmissionValues.Layout.of(form));
+  }
+
+  public String getFormKey() {
+    return formKey;
+  }
+
+  /** Slot layout that submissions of this form are read into. */
+  public SubmissionValues.Layout getLayout() {
+    return layout;
+  }
+
+  public List<ValidationErrorDto> validate(Map<String, Object> data) {
+    List<ValidationErrorDto> errors = new ArrayList<>();
+    for (String name : data.keySet()) {
+      if (!rules.containsKey(name)) {
+        errors.add(new ValidationErrorDto(name, "Unknown field: " + name, "UnknownField"));
+      }
+    }
+    for (FieldRule rule : rules.values()) {
+      Object value = data.get(rule.name());
+      if (isEmpty(value)) {
+        if (rule.required()) {
+          errors.add(
+              new ValidationErrorDto(rule.name(), rule.label() + " is required", "Required"));
+        }
+      } else if (!isValid(rule, value)) {
+        errors.add(
+            new ValidationErrorDto(
+                rule.name(), rule.label() + " has an invalid value", invalidCode(rule.type())));
+      }
+    }
+    return errors;
+  }
+
+  /** Whether {@code value} counts as no answer: null, false, blank or an empty list. */
+  public static boolean isEmpty(Object value) {
+    return value == null
+        || Boolean.FALSE.equals(value)
+        || (value instanceof String s && s.isBlank())
+        || (value instanceof Collection<?> c && c.isEmpty());
+  }
+
+  private static boolean isValid(FieldRule rule, Object value) {
+    return switch (rule.type()) {
+      case TEXT, TEXTAREA -> isScalar(value);
+      case EMAIL -> value instanceof String s && EMAIL.matcher(s).matches();
+      case TEL -> value instanceof String s && TEL.matcher(s).matches();
+      case NUMBER -> value instanceof Number || (value instanceof String s && isNumber(s));
+      case DATE -> value instanceof String s && isDate(s);
+      case SELECT, RADIO -> value instanceof String s && isOption(rule, s);
+      case CHECKBOX -> isCheckboxValue(rule, value);
+    };
+  }
+
+  private static boolean isCheckboxValue(FieldRule rule, Object value) {
+    if (value instanceof Boolean) {
+      return true;
+    }
+    if (value instanceof String s) {
+      return isOption(rule, s);
+    }
+    if (value instanceof Collection<?> values) {
+      for (Object v : values) {
+        if (!(v instanceof String s) || !isOption(rule, s)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private static boolean isOption(FieldRule rule, String value) {
+    return rule.options() == null || rule.options().contains(value);
+  }
+
+  private static boolean isScalar(Object value) {
+    return value instanceof String || value instanceof Number || value instanceof Boolean;
+  }
+
+  private static boolean isNumber(String value) {
+    try {
+      new BigDecimal(value.trim());
+      return true;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  private static boolean isDate(String value) {
+    try {
+      LocalDate.parse(value);
+      return true;
+    } catch (DateTimeParseException e) {
+      return false;
+    }
+  }
+
+  private static String invalidCode(FieldType type) {
+    return switch (type) {
+      case EMAIL -> "Email";
+      case TEL -> "Tel";
+      case NUMBER -> "Number";
+      case DATE -> "Date";
+      case SELECT, RADIO, CHECKBOX -> "Option";
+      case TEXT, TEXTAREA -> "InvalidValue";
+    };
+  }
+}
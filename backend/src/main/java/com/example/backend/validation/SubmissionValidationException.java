@@ -0,0 +1,16 @@
+package com.example.backend.validation;
+
+import com.example.backend.dto.ValidationErrorDto;
+import java.util.List;
+import lombok.Getter;
+
+@Getter
+public class SubmissionValidationException extends RuntimeException {
+
+  private final List<ValidationErrorDto> errors;
+
+  public SubmissionValidationException(String formKey, List<ValidationErrorDto> errors) {
+    super("Submission for form '" + formKey + "' is invalid");
+    this.errors = errors;
+  }
+}
@@ -0,0 +1,40 @@
+package com.example.backend.validation;
+
+import com.example.backend.dto.ValidationErrorDto;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.SubmissionValues;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates submission payloads against their form definition. Compiled schemas are keyed by the
+ * identity of the {@link Form} instance, which the form cache replaces whenever a definition
+ * changes, so stale schemas are simply garbage collected together with the old instance.
+ */
+@Component
+public class SubmissionValidator {
+
+  private final Cache<Form, FormSchema> schemas = Caffeine.newBuilder().weakKeys().build();
+
+  public void validate(Form form, Map<String, Object> data) {
+    List<ValidationErrorDto> errors = check(form, data);
+    if (!errors.isEmpty()) {
+      throw new SubmissionValidationException(form.getFormKey(), errors);
+    }
+  }
+
+  public List<ValidationErrorDto> check(Form form, Map<String, Object> data) {
+    return schemaFor(form).validate(data);
+  }
+
+  public SubmissionValues.Layout layoutFor(Form form) {
+    return schemaFor(form).getLayout();
+  }
+
+  FormSchema schemaFor(Form form) {
+    return schemas.get(form, FormSchema::compile);
+  }
+}
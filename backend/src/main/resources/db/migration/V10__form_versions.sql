@@ -0,0 +1,22 @@
+-- Immutable snapshots of form definitions (FormVersions); every submission is pinned to the
+-- version it was validated against, numbered by form.version.
+CREATE TABLE form_version (
+  form_id BIGINT NOT NULL REFERENCES form(id),
+  version INTEGER NOT NULL,
+  title VARCHAR(255) NOT NULL,
+  description TEXT,
+  fields JSONB NOT NULL,
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (form_id, version)
+);
+
+-- Earlier definitions were overwritten, so existing submissions start at the current one
+INSERT INTO form_version (form_id, version, title, description, fields, created_at)
+SELECT id, version, title, description, fields, updated_at FROM form;
+
+ALTER TABLE form_data ADD COLUMN form_version INTEGER;
+UPDATE form_data d SET form_version = f.version FROM form f WHERE f.id = d.form_id;
+ALTER TABLE form_data ALTER COLUMN form_version SET NOT NULL;
+ALTER TABLE form_data
+  ADD CONSTRAINT fk_form_data_form_version
+  FOREIGN KEY (form_id, form_version) REFERENCES form_version(form_id, version);
@@ -0,0 +1,4 @@
+-- Takes the submissions of months FormDataPartitionMaintenance has not created a partition for
+-- yet, e.g. while it is failing, so inserts never fail for want of one. The job moves such rows
+-- into their month's partition when it creates it.
+CREATE TABLE form_data_default PARTITION OF form_data DEFAULT;
@@ -0,0 +1,9 @@
+-- Keyset pagination orders by (submitted_at, id); extend the existing indexes so a page
+-- is a single index range scan, with or without a form_key filter
+DROP INDEX idx_form_data_submitted_at;
+CREATE INDEX idx_form_data_submitted_at ON form_data(submitted_at, id);
+
+DROP INDEX idx_form_data_form_key;
+CREATE INDEX idx_form_data_form_key ON form_data(form_key, submitted_at, id);
+
+CREATE INDEX idx_form_data_submitted_by ON form_data(submitted_by, submitted_at, id);
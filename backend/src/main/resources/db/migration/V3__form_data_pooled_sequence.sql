@@ -0,0 +1,3 @@
+-- FormData ids come from a pooled sequence (allocationSize = 50) so Hibernate can batch inserts;
+-- the increment must match the allocation size
+ALTER SEQUENCE form_data_id_seq INCREMENT BY 50;
@@ -0,0 +1,3 @@
+-- @Version columns for optimistic locking; existing rows start at version 0
+ALTER TABLE form ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE form_data ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
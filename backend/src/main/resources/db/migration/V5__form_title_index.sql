@@ -0,0 +1,2 @@
+-- Serves the form list ordered by (title, form_key) without sorting the table
+CREATE INDEX idx_form_title ON form(title, form_key);
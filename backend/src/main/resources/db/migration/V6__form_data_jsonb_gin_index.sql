@@ -0,0 +1,5 @@
+-- Lets data @@ jsonpath (and data @> jsonb) predicates on submission answers use an index.
+-- jsonb_path_ops only indexes values, which keeps it much smaller than the default jsonb_ops.
+-- CONCURRENTLY keeps form_data writable while the index builds; Flyway runs this statement
+-- outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_form_data_data ON form_data USING GIN (data jsonb_path_ops);
@@ -0,0 +1,47 @@
+-- Submission rollups maintained by SubmissionCounters, see FormCounter for the row kinds
+CREATE TABLE form_counter (
+  form_key VARCHAR(255) NOT NULL,
+  kind VARCHAR(16) NOT NULL,
+  field_name VARCHAR(255) NOT NULL,
+  item_value VARCHAR(255) NOT NULL,
+  total BIGINT NOT NULL,
+  PRIMARY KEY (form_key, kind, field_name, item_value)
+);
+
+-- Backfill from existing submissions
+INSERT INTO form_counter (form_key, kind, field_name, item_value, total)
+SELECT form_key, 'DAY', '', to_char(submitted_at, 'YYYY-MM-DD'), count(*)
+FROM form_data
+GROUP BY form_key, to_char(submitted_at, 'YYYY-MM-DD');
+
+INSERT INTO form_counter (form_key, kind, field_name, item_value, total)
+SELECT d.form_key, 'OPTION', e.key, v.value, count(*)
+FROM form_data d
+JOIN form f ON f.form_key = d.form_key
+CROSS JOIN LATERAL jsonb_each(d.data) e
+CROSS JOIN LATERAL jsonb_array_elements_text(
+    CASE jsonb_typeof(e.value) WHEN 'array' THEN e.value ELSE jsonb_build_array(e.value) END
+) v(value)
+WHERE EXISTS (
+  SELECT 1
+  FROM jsonb_array_elements(f.fields) fd
+  CROSS JOIN LATERAL jsonb_array_elements(
+      CASE jsonb_typeof(fd -> 'options') WHEN 'array' THEN fd -> 'options' ELSE '[]' END
+  ) o
+  WHERE fd ->> 'name' = e.key AND o ->> 'value' = v.value
+)
+GROUP BY d.form_key, e.key, v.value;
+
+INSERT INTO form_counter (form_key, kind, field_name, item_value, total)
+SELECT d.form_key, 'ANSWERED', e.key, '', count(*)
+FROM form_data d
+JOIN form f ON f.form_key = d.form_key
+CROSS JOIN LATERAL jsonb_each(d.data) e
+WHERE jsonb_typeof(e.value) <> 'null'
+  AND e.value NOT IN ('false'::jsonb, '[]'::jsonb)
+  AND NOT (jsonb_typeof(e.value) = 'string' AND btrim(e.value #>> '{}') = '')
+  AND EXISTS (
+    SELECT 1 FROM jsonb_array_elements(f.fields) fd
+    WHERE fd ->> 'name' = e.key AND NOT coalesce((fd ->> 'required')::boolean, false)
+  )
+GROUP BY d.form_key, e.key;
@@ -0,0 +1,44 @@
+-- Range-partitions form_data by month of submitted_at, so expired months can be detached or
+-- dropped as a whole (FormDataPartitionMaintenance) instead of deleted row by row, and vacuum and
+-- index maintenance work on one month at a time. The table is copied, so writes must be stopped
+-- while this runs.
+ALTER TABLE form_data RENAME TO form_data_unpartitioned;
+ALTER SEQUENCE form_data_id_seq OWNED BY NONE;
+
+-- The partition key has to be part of the primary key; ids stay unique through the sequence
+CREATE TABLE form_data (
+  id BIGINT NOT NULL DEFAULT nextval('form_data_id_seq'),
+  form_key VARCHAR(255) NOT NULL,
+  data JSONB NOT NULL,
+  submitted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  submitted_by VARCHAR(255) NOT NULL,
+  version BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (id, submitted_at)
+) PARTITION BY RANGE (submitted_at);
+ALTER SEQUENCE form_data_id_seq OWNED BY form_data.id;
+
+-- One partition per month from the oldest submission to three months ahead; the maintenance
+-- job keeps creating future months from then on. Names are form_data_pYYYY_MM.
+DO $$
+DECLARE
+  first_day DATE := date_trunc('month', coalesce(
+      (SELECT min(submitted_at) FROM form_data_unpartitioned), CURRENT_TIMESTAMP));
+BEGIN
+  WHILE first_day <= date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months' LOOP
+    EXECUTE format(
+        'CREATE TABLE %I PARTITION OF form_data FOR VALUES FROM (%L) TO (%L)',
+        'form_data_p' || to_char(first_day, 'YYYY_MM'), first_day, first_day + INTERVAL '1 month');
+    first_day := first_day + INTERVAL '1 month';
+  END LOOP;
+END $$;
+
+INSERT INTO form_data (id, form_key, data, submitted_at, submitted_by, version)
+SELECT id, form_key, data, submitted_at, submitted_by, version FROM form_data_unpartitioned;
+
+DROP TABLE form_data_unpartitioned;
+
+-- Same indexes as before (V2, V6), now created on every partition
+CREATE INDEX idx_form_data_submitted_at ON form_data(submitted_at, id);
+CREATE INDEX idx_form_data_form_key ON form_data(form_key, submitted_at, id);
+CREATE INDEX idx_form_data_submitted_by ON form_data(submitted_by, submitted_at, id);
+CREATE INDEX idx_form_data_data ON form_data USING GIN (data jsonb_path_ops);
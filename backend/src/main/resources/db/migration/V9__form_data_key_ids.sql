@@ -0,0 +1,32 @@
+-- form_data references its form and submitter by id instead of repeating both names on every
+-- row (SubmissionKeyDictionary translates). Rewrites every row, so writes must be stopped.
+CREATE TABLE submitter (
+  id SERIAL PRIMARY KEY,
+  username VARCHAR(255) NOT NULL UNIQUE
+);
+INSERT INTO submitter (username) SELECT DISTINCT submitted_by FROM form_data;
+
+-- Submissions of forms deleted earlier keep a definition-less form to reference. Such a form is
+-- retired: it is not listed or served and cannot be updated, it only anchors its submissions
+ALTER TABLE form ADD COLUMN retired BOOLEAN NOT NULL DEFAULT FALSE;
+INSERT INTO form (form_key, title, fields, retired)
+SELECT DISTINCT d.form_key, d.form_key, '[]'::jsonb, TRUE
+FROM form_data d
+WHERE NOT EXISTS (SELECT 1 FROM form f WHERE f.form_key = d.form_key);
+
+ALTER TABLE form_data ADD COLUMN form_id BIGINT, ADD COLUMN submitter_id INTEGER;
+UPDATE form_data d SET form_id = f.id FROM form f WHERE f.form_key = d.form_key;
+UPDATE form_data d SET submitter_id = s.id FROM submitter s WHERE s.username = d.submitted_by;
+ALTER TABLE form_data
+  ALTER COLUMN form_id SET NOT NULL,
+  ALTER COLUMN submitter_id SET NOT NULL;
+
+-- Also drops idx_form_data_form_key and idx_form_data_submitted_by
+ALTER TABLE form_data DROP COLUMN form_key, DROP COLUMN submitted_by;
+CREATE INDEX idx_form_data_form_id ON form_data(form_id, submitted_at, id);
+CREATE INDEX idx_form_data_submitter_id ON form_data(submitter_id, submitted_at, id);
+
+-- A form with submissions can no longer be deleted (409 Conflict)
+ALTER TABLE form_data ADD CONSTRAINT fk_form_data_form FOREIGN KEY (form_id) REFERENCES form(id);
+ALTER TABLE form_data
+  ADD CONSTRAINT fk_form_data_submitter FOREIGN KEY (submitter_id) REFERENCES submitter(id);
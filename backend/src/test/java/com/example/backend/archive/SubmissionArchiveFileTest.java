@@ -0,0 +1,101 @@
+package com.example.backend.archive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.backend.entity.FormData;
+import com.example.backend.entity.SubmissionValues;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.ObjectMapper;
+
+class SubmissionArchiveFileTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @TempDir Path directory;
+
+  @Test
+  void findsEveryRecordAcrossBlocks() throws IOException {
+    int records = SubmissionArchiveFile.BLOCK_SIZE * 2 + 3;
+    List<FormData> submissions =
+        LongStream.rangeClosed(1, records).mapToObj(id -> submission(id * 3)).toList();
+    Path path = directory.resolve("2024-01.ndjson.gz");
+
+    assertEquals(records, SubmissionArchiveFile.write(path, submissions.iterator(), objectMapper));
+    SubmissionArchiveFile file = SubmissionArchiveFile.open(path, objectMapper);
+
+    assertEquals(records, file.size());
+    for (FormData expected : submissions) {
+      assertEquals(expected, file.findById(expected.getId()).orElseThrow());
+    }
+    assertTrue(file.findById(4).isEmpty());
+    assertTrue(file.covers(3) && file.covers(records * 3L) && !file.covers(records * 3L + 3));
+    assertEquals(submissions, file.stream().toList());
+  }
+
+  @Test
+  void closedFileStaysMappedUntilTheLastReaderReleasesIt() throws IOException {
+    Path path = directory.resolve("2024-01.ndjson.gz");
+    SubmissionArchiveFile.write(
+        path, List.of(submission(1), submission(2)).iterator(), objectMapper);
+    SubmissionArchiveFile file = SubmissionArchiveFile.open(path, objectMapper);
+
+    assertTrue(file.retain());
+    file.close();
+    file.close();
+
+    assertEquals(submission(2), file.findById(2).orElseThrow());
+    file.release();
+    assertFalse(file.retain());
+  }
+
+  @Test
+  void blocksAreReadableAsPlainGzip() throws IOException {
+    Path path = directory.resolve("2024-01.ndjson.gz");
+    SubmissionArchiveFile.write(
+        path, List.of(submission(1), submission(2)).iterator(), objectMapper);
+
+    String text;
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+      text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    assertEquals(2, text.lines().count());
+    assertTrue(text.startsWith("{"));
+  }
+
+  @Test
+  void rejectsUnorderedInputAndForeignFiles() throws IOException {
+    Path path = directory.resolve("bad.ndjson.gz");
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            SubmissionArchiveFile.write(
+                path, List.of(submission(2), submission(1)).iterator(), objectMapper));
+
+    Files.writeString(path, "not an archive");
+    assertThrows(IOException.class, () -> SubmissionArchiveFile.open(path, objectMapper));
+  }
+
+  static FormData submission(long id) {
+    return new FormData(
+        id,
+        "survey",
+        0,
+        SubmissionValues.copyOf(
+            Map.of("rating", String.valueOf(id % 5), "topics", List.of("ui"))),
+        LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(id),
+        "user",
+        0L);
+  }
+}
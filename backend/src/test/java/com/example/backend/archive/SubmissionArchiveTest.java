@@ -0,0 +1,75 @@
+package com.example.backend.archive;
+
+import static com.example.backend.archive.SubmissionArchiveFileTest.submission;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.backend.entity.FormData;
+import com.example.backend.entity.SubmissionValues;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.ObjectMapper;
+
+class SubmissionArchiveTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @TempDir Path directory;
+
+  @Test
+  void appendMergesWithTheExistingMonth() throws IOException {
+    SubmissionArchive archive = new SubmissionArchive(directory, objectMapper);
+    archive.append(
+        "survey", YearMonth.of(2024, 1), List.of(submission(1), submission(3)).iterator());
+    FormData changed = submission(3);
+    changed.setData(SubmissionValues.copyOf(Map.of("rating", "5")));
+
+    int added =
+        archive.append("survey", YearMonth.of(2024, 1), List.of(submission(2), changed).iterator());
+
+    assertEquals(2, added);
+    assertEquals(
+        List.of(submission(1), submission(2), changed),
+        archive.streamByFormKey("survey").toList());
+  }
+
+  @Test
+  void streamStartedBeforeAnAppendKeepsReadingTheFileItOpened() throws IOException {
+    SubmissionArchive archive = new SubmissionArchive(directory, objectMapper);
+    archive.append("survey", YearMonth.of(2024, 1), List.of(submission(1)).iterator());
+
+    try (Stream<FormData> before = archive.streamByFormKey("survey")) {
+      Iterator<FormData> iterator = before.iterator();
+      assertEquals(submission(1), iterator.next());
+      archive.append("survey", YearMonth.of(2024, 1), List.of(submission(2)).iterator());
+      assertFalse(iterator.hasNext());
+    }
+
+    assertEquals(List.of(submission(1), submission(2)), archive.streamByFormKey("survey").toList());
+    assertEquals(submission(2), archive.findById(2).orElseThrow());
+  }
+
+  @Test
+  void reopenedArchiveFindsByIdAndStreamsMonthsInOrder() throws IOException {
+    SubmissionArchive writer = new SubmissionArchive(directory, objectMapper);
+    writer.append("survey", YearMonth.of(2024, 2), List.of(submission(20)).iterator());
+    writer.append("survey", YearMonth.of(2024, 1), List.of(submission(10)).iterator());
+    writer.append("other/form", YearMonth.of(2024, 1), List.of(submission(15)).iterator());
+    assertEquals(0, writer.append("survey", YearMonth.of(2024, 3), List.<FormData>of().iterator()));
+
+    SubmissionArchive archive = new SubmissionArchive(directory, objectMapper);
+    archive.load();
+
+    assertEquals(submission(15), archive.findById(15).orElseThrow());
+    assertTrue(archive.findById(11).isEmpty());
+    assertEquals(
+        List.of(submission(10), submission(20)), archive.streamByFormKey("survey").toList());
+    assertEquals(List.of(submission(15)), archive.streamByFormKey("other/form").toList());
+  }
+}
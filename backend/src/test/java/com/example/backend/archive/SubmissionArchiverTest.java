@@ -0,0 +1,99 @@
+package com.example.backend.archive;
+
+import static com.example.backend.archive.SubmissionArchiveFileTest.submission;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.backend.entity.FormData;
+import com.example.backend.repository.FormDataRepository;
+import jakarta.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class SubmissionArchiverTest {
+
+  @Mock private SubmissionArchive submissionArchive;
+  @Mock private FormDataRepository formDataRepository;
+  @Mock private EntityManager entityManager;
+  @Mock private JdbcTemplate jdbcTemplate;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void deletesOnlyTheArchivedVersionsOfTheMonth() throws Exception {
+    SubmissionArchiver archiver =
+        new SubmissionArchiver(
+            submissionArchive,
+            formDataRepository,
+            entityManager,
+            jdbcTemplate,
+            new TransactionTemplate(transactionManager),
+            30);
+    FormData edited = submission(2);
+    edited.setVersion(3L);
+    when(formDataRepository.findOldestSubmissionBefore(any()))
+        .thenReturn(
+            List.<Object[]>of(new Object[] {"survey", LocalDateTime.of(2024, 1, 5, 0, 0)}));
+    when(formDataRepository.streamSubmittedBetween(eq("survey"), any(), any()))
+        .thenReturn(Stream.of(submission(1), edited));
+    when(submissionArchive.append(eq("survey"), eq(YearMonth.of(2024, 1)), any()))
+        .thenAnswer(
+            invocation -> {
+              Iterator<FormData> submissions = invocation.getArgument(2);
+              int count = 0;
+              for (; submissions.hasNext(); submissions.next()) {
+                count++;
+              }
+              return count;
+            });
+    when(jdbcTemplate.batchUpdate(
+            anyString(),
+            any(Collection.class),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class)))
+        .thenReturn(new int[][] {{1, 0}});
+
+    archiver.archive(LocalDate.of(2024, 3, 15));
+
+    ArgumentCaptor<Collection<Object>> rows = ArgumentCaptor.forClass(Collection.class);
+    ArgumentCaptor<ParameterizedPreparedStatementSetter<Object>> setter =
+        ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+    verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), anyInt(), setter.capture());
+    List<List<Long>> deleted = new ArrayList<>();
+    for (Object row : rows.getValue()) {
+      PreparedStatement statement = mock(PreparedStatement.class);
+      setter.getValue().setValues(statement, row);
+      ArgumentCaptor<Long> values = ArgumentCaptor.forClass(Long.class);
+      verify(statement, times(2)).setLong(anyInt(), values.capture());
+      verify(statement).setTimestamp(3, Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0)));
+      verify(statement).setTimestamp(4, Timestamp.valueOf(LocalDateTime.of(2024, 2, 1, 0, 0)));
+      deleted.add(values.getAllValues());
+    }
+    assertEquals(List.of(List.of(1L, 0L), List.of(2L, 3L)), deleted);
+  }
+}
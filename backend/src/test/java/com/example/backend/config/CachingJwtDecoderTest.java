@@ -0,0 +1,82 @@
+package com.example.backend.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+@ExtendWith(MockitoExtension.class)
+class CachingJwtDecoderTest {
+
+  @Mock private JwtDecoder delegate;
+
+  private MeterRegistry registry;
+  private CachingJwtDecoder decoder;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    decoder = new CachingJwtDecoder(delegate, 100, registry);
+  }
+
+  @Test
+  void verifiedTokenIsServedFromCacheUntilItExpires() {
+    Jwt jwt = jwt("token", Instant.now().plusSeconds(300));
+    when(delegate.decode("token")).thenReturn(jwt);
+
+    assertSame(jwt, decoder.decode("token"));
+    assertSame(jwt, decoder.decode("token"));
+
+    verify(delegate, times(1)).decode("token");
+    assertEquals(1, timerCount("verified"));
+    assertEquals(1, timerCount("cached"));
+  }
+
+  @Test
+  void tokensWithoutFutureExpiryAreVerifiedEveryTime() {
+    when(delegate.decode("expired")).thenReturn(jwt("expired", Instant.now().minusSeconds(1)));
+    when(delegate.decode("no-exp")).thenReturn(jwt("no-exp", null));
+
+    decoder.decode("expired");
+    decoder.decode("expired");
+    decoder.decode("no-exp");
+    decoder.decode("no-exp");
+
+    verify(delegate, times(2)).decode("expired");
+    verify(delegate, times(2)).decode("no-exp");
+  }
+
+  @Test
+  void rejectedTokenIsNotCached() {
+    when(delegate.decode("forged")).thenThrow(new BadJwtException("bad signature"));
+
+    assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+    assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+
+    verify(delegate, times(2)).decode("forged");
+    assertEquals(2, timerCount("rejected"));
+  }
+
+  private long timerCount(String result) {
+    return registry.find(CachingJwtDecoder.TIMER).tag("result", result).timer().count();
+  }
+
+  private static Jwt jwt(String token, Instant expiresAt) {
+    Jwt.Builder builder =
+        Jwt.withTokenValue(token)
+            .header("alg", "RS256")
+            .subject("user")
+            .issuedAt(Instant.now().minusSeconds(10));
+    return expiresAt == null ? builder.build() : builder.expiresAt(expiresAt).build();
+  }
+}
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.*;
 
 import com.example.backend.entity.Form;
 import com.example.backend.repository.FormRepository;
+import com.example.backend.service.FormVersions;
 import tools.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class DatabaseInitializerTest {
 
   @Mock private FormRepository formRepository;
+  @Mock private FormVersions formVersions;
 
   private DatabaseInitializer databaseInitializer;
   private ObjectMapper objectMapper;
@@ -25,18 +27,20 @@ class DatabaseInitializerTest {
   @BeforeEach
   void setUp() {
     objectMapper = new ObjectMapper();
-    databaseInitializer = new DatabaseInitializer(formRepository, objectMapper);
+    databaseInitializer = new DatabaseInitializer(formRepository, objectMapper, formVersions);
   }
 
   @Test
   void runLoadsFormsFromResources() {
     when(formRepository.existsByFormKey(anyString())).thenReturn(false);
-    when(formRepository.save(any(Form.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    when(formRepository.saveAndFlush(any(Form.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
     when(formRepository.count()).thenReturn(3L);
 
     databaseInitializer.run();
 
-    verify(formRepository, atLeastOnce()).save(any(Form.class));
+    verify(formRepository, atLeastOnce()).saveAndFlush(any(Form.class));
+    verify(formVersions, atLeastOnce()).snapshot(any(Form.class));
   }
 
   @Test
@@ -44,13 +48,14 @@ class DatabaseInitializerTest {
     when(formRepository.existsByFormKey("contact")).thenReturn(true);
     when(formRepository.existsByFormKey("feedback")).thenReturn(false);
     when(formRepository.existsByFormKey("survey")).thenReturn(false);
-    when(formRepository.save(any(Form.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    when(formRepository.saveAndFlush(any(Form.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
     when(formRepository.count()).thenReturn(2L);
 
     databaseInitializer.run();
 
     ArgumentCaptor<Form> captor = ArgumentCaptor.forClass(Form.class);
-    verify(formRepository, atLeast(2)).save(captor.capture());
+    verify(formRepository, atLeast(2)).saveAndFlush(captor.capture());
 
     // Verify "contact" was not saved since it already exists
     assertTrue(captor.getAllValues().stream().noneMatch(fd -> "contact".equals(fd.getFormKey())));
@@ -59,13 +64,14 @@ class DatabaseInitializerTest {
   @Test
   void runParsesFormCorrectly() {
     when(formRepository.existsByFormKey(anyString())).thenReturn(false);
-    when(formRepository.save(any(Form.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    when(formRepository.saveAndFlush(any(Form.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
     when(formRepository.count()).thenReturn(3L);
 
     databaseInitializer.run();
 
     ArgumentCaptor<Form> captor = ArgumentCaptor.forClass(Form.class);
-    verify(formRepository, atLeastOnce()).save(captor.capture());
+    verify(formRepository, atLeastOnce()).saveAndFlush(captor.capture());
 
     Form contactForm =
         captor.getAllValues().stream()
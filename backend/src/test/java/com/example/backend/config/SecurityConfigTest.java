@@ -0,0 +1,53 @@
+package com.example.backend.config;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.backend.controller.ConfigController;
+import com.example.backend.service.FormService;
+import com.example.backend.validation.SubmissionValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/** The actuator endpoints do not exist in this slice, so a request that gets through is a 404. */
+@WebMvcTest(ConfigController.class)
+@Import(SecurityConfig.class)
+@TestPropertySource(
+    properties = {
+      "security.prometheus.password=scrape-secret",
+      "spring.security.oauth2.resourceserver.jwt.issuer-uri=http://localhost:9000"
+    })
+class SecurityConfigTest {
+
+  @Autowired private MockMvc mockMvc;
+  @MockitoBean private JwtDecoder jwtDecoder;
+  // Needed by the MVC configuration of the slice
+  @MockitoBean private FormService formService;
+  @MockitoBean private SubmissionValidator submissionValidator;
+
+  @Test
+  void prometheusAcceptsTheScrapeCredential() throws Exception {
+    mockMvc
+        .perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret")))
+        .andExpect(status().isNotFound());
+    mockMvc
+        .perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+        .andExpect(status().isUnauthorized());
+    mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void scrapeCredentialOpensNoOtherActuatorEndpoint() throws Exception {
+    mockMvc
+        .perform(get("/actuator/env").with(httpBasic("prometheus", "scrape-secret")))
+        .andExpect(status().isUnauthorized());
+    mockMvc.perform(get("/actuator/health")).andExpect(status().isNotFound());
+  }
+}
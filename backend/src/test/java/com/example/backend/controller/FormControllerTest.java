@@ -1,8 +1,13 @@
 package com.example.backend.controller;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -11,22 +16,39 @@ import com.example.backend.dto.FormDto;
 import com.example.backend.entity.Field;
 import com.example.backend.entity.Form;
 import com.example.backend.mapper.FormMapper;
+import com.example.backend.service.FormBodyCache;
 import com.example.backend.service.FormService;
+import com.example.backend.service.FormStatsService;
+import com.example.backend.service.FormVersions;
+import com.example.backend.service.SubmissionFeed;
+import com.example.backend.util.ETagUtils;
+import com.example.backend.validation.SubmissionValidator;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @WebMvcTest(FormController.class)
+@Import(FormBodyCache.class)
 class FormControllerTest {
 
   @Autowired private MockMvc mockMvc;
   @MockitoBean private FormService formService;
   @MockitoBean private FormMapper formMapper;
+  @MockitoBean private FormStatsService formStatsService;
+  @MockitoBean private SubmissionValidator submissionValidator;
+  @MockitoBean private FormVersions formVersions;
+  @MockitoBean private SubmissionFeed submissionFeed;
 
   @Test
   @WithMockUser
@@ -71,4 +93,119 @@ class FormControllerTest {
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.title").value("Test Form"));
   }
+
+  @Test
+  @WithMockUser
+  void getFormWithMatchingIfNoneMatchReturnsNotModified() throws Exception {
+    Form form = Form.builder().id(1L).formKey("form1").title("Test Form").version(3L).build();
+    when(formService.getForm("form1")).thenReturn(form);
+    when(formMapper.toDto(any(Form.class)))
+        .thenReturn(FormDto.builder().formKey("form1").version(3L).build());
+
+    mockMvc
+        .perform(get("/api/forms/form1"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"1.3\""));
+    mockMvc
+        .perform(get("/api/forms/form1").header(HttpHeaders.IF_NONE_MATCH, "\"1.3\""))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  @WithMockUser
+  void getFormOfARecreatedFormIgnoresTheTagOfTheDeletedOne() throws Exception {
+    Form recreated = Form.builder().id(2L).formKey("form1").title("Test Form").version(3L).build();
+    when(formService.getForm("form1")).thenReturn(recreated);
+    when(formMapper.toDto(any(Form.class)))
+        .thenReturn(FormDto.builder().formKey("form1").version(3L).build());
+
+    mockMvc
+        .perform(get("/api/forms/form1").header(HttpHeaders.IF_NONE_MATCH, "\"1.3\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"2.3\""));
+  }
+
+  @Test
+  @WithMockUser
+  void getFormServesPrecompressedBodyRenderedOncePerVersion() throws Exception {
+    Form form = Form.builder().id(1L).formKey("form1").title("Test Form").version(3L).build();
+    when(formService.getForm("form1")).thenReturn(form);
+    when(formMapper.toDto(form))
+        .thenReturn(
+            FormDto.builder().formKey("form1").description("long ".repeat(200)).version(3L).build());
+
+    byte[] gzipped =
+        mockMvc
+            .perform(get("/api/forms/form1").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1.3-gzip\""))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+    mockMvc
+        .perform(get("/api/forms/form1").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"1.3\""))
+        .andExpect(jsonPath("$.formKey").value("form1"));
+
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+      assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8).contains("\"form1\""));
+    }
+    verify(formMapper, times(1)).toDto(form);
+  }
+
+  @Test
+  @WithMockUser(authorities = "ROLE_ADMIN")
+  void updateFormPassesIfMatchVersionToService() throws Exception {
+    Form updated = Form.builder().id(1L).formKey("form1").title("Renamed").version(4L).build();
+    when(formMapper.toEntity(any(FormDto.class))).thenReturn(updated);
+    when(formService.updateForm("form1", updated, new ETagUtils.EntityTag(1L, 3L)))
+        .thenReturn(updated);
+    when(formMapper.toDto(updated)).thenReturn(FormDto.builder().formKey("form1").build());
+
+    mockMvc
+        .perform(
+            put("/api/forms/form1")
+                .with(csrf())
+                .header(HttpHeaders.IF_MATCH, "\"1.3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    """
+                    {"formKey":"form1","title":"Renamed",\
+                    "fields":[{"name":"f","label":"F","type":"text","required":false}]}"""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"1.4\""));
+  }
+
+  @Test
+  @WithMockUser
+  void getFormVersionServesThePinnedSnapshot() throws Exception {
+    Form snapshot = Form.builder().id(1L).formKey("form1").title("Original").version(1L).build();
+    when(formVersions.get("form1", 1)).thenReturn(snapshot);
+    when(formMapper.toDto(snapshot))
+        .thenReturn(FormDto.builder().formKey("form1").title("Original").build());
+
+    mockMvc
+        .perform(get("/api/forms/form1/versions/1"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"1.1\""))
+        .andExpect(jsonPath("$.title").value("Original"));
+  }
+
+  @Test
+  @WithMockUser(authorities = "ROLE_ADMIN")
+  void streamSubmissionsSubscribesToTheFormsFeed() throws Exception {
+    when(formService.getForm("form1")).thenReturn(Form.builder().formKey("form1").build());
+    when(submissionFeed.subscribe("form1")).thenReturn(new SseEmitter());
+
+    mockMvc
+        .perform(
+            get("/api/forms/form1/submissions/stream").accept(MediaType.TEXT_EVENT_STREAM))
+        .andExpect(request().asyncStarted());
+    verify(submissionFeed).subscribe("form1");
+  }
 }
@@ -0,0 +1,34 @@
+package com.example.backend.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.repository.SubmissionKeyDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FormKeyConverterTest {
+
+  @Mock private SubmissionKeyDictionary dictionary;
+  @InjectMocks private FormKeyConverter converter;
+
+  @Test
+  void translatesThroughTheDictionary() {
+    when(dictionary.formId("contact")).thenReturn(3L);
+    when(dictionary.formKey(3L)).thenReturn("contact");
+
+    assertEquals(3L, converter.convertToDatabaseColumn("contact"));
+    assertEquals("contact", converter.convertToEntityAttribute(3L));
+  }
+
+  @Test
+  void passesNullsThrough() {
+    assertNull(converter.convertToDatabaseColumn(null));
+    assertNull(converter.convertToEntityAttribute(null));
+    verifyNoInteractions(dictionary);
+  }
+}
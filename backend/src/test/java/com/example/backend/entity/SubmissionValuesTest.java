@@ -0,0 +1,94 @@
+package com.example.backend.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+class SubmissionValuesTest {
+
+  private static final JsonMapper MAPPER = JsonMapper.shared();
+
+  private static final Form FORM =
+      Form.builder()
+          .formKey("survey")
+          .fields(
+              List.of(
+                  field("name", "text", null),
+                  field("age", "number", null),
+                  field("born", "date", null),
+                  field("rating", "radio", List.of("1", "2", "3")),
+                  field("topics", "checkbox", List.of("billing", "ui", "docs")),
+                  field("agree", "checkbox", null)))
+          .build();
+
+  @Test
+  void readsIntoFormLayoutAndWritesTheSameDocument() {
+    String json =
+        "{\"topics\":[\"billing\",\"docs\"],\"name\":\"Jane\",\"age\":42,\"big\":12345678901,"
+            + "\"born\":\"1990-01-31\",\"rating\":\"2\",\"agree\":true}";
+
+    SubmissionValues values = read(json, SubmissionValues.Layout.of(FORM));
+
+    // Field order of the form first, names the form does not know after them
+    assertEquals(
+        List.of("name", "age", "born", "rating", "topics", "agree", "big"),
+        List.copyOf(values.keySet()));
+    assertEquals(MAPPER.readValue(json, new TypeReference<Map<String, Object>>() {}), values);
+    assertEquals(
+        MAPPER.readValue(json, new TypeReference<LinkedHashMap<String, Object>>() {}),
+        MAPPER.readValue(MAPPER.writeValueAsString(values), Map.class));
+    assertSame(FORM.getFields().get(3).getOptions().get(1).getValue(), values.get("rating"));
+  }
+
+  @Test
+  void keepsAnswersThatDoNotFitTheirSlotsAsSubmitted() {
+    String json =
+        "{\"born\":\"31.01.1990\",\"rating\":\"7\",\"topics\":[\"docs\",\"billing\"],"
+            + "\"age\":1.5,\"name\":null}";
+
+    SubmissionValues values = read(json, SubmissionValues.Layout.of(FORM));
+
+    assertEquals("31.01.1990", values.get("born"));
+    assertEquals("7", values.get("rating"));
+    assertEquals(List.of("docs", "billing"), values.get("topics"));
+    assertEquals(1.5, values.get("age"));
+    assertTrue(values.containsKey("name"));
+    assertNull(values.get("name"));
+    assertFalse(values.containsKey("agree"));
+    assertEquals(5, values.size());
+  }
+
+  @Test
+  void documentsWithTheSameNamesShareOneLayout() {
+    SubmissionValues first = MAPPER.readValue("{\"a\":1,\"b\":\"x\"}", SubmissionValues.class);
+    SubmissionValues second = MAPPER.readValue("{\"a\":2,\"b\":\"y\"}", SubmissionValues.class);
+
+    assertSame(first.keySet().iterator().next(), second.keySet().iterator().next());
+    assertEquals(Map.of("a", 1, "b", "x"), first);
+    assertSame(first, SubmissionValues.copyOf(first));
+    assertEquals(Map.of("a", 2, "b", "y"), SubmissionValues.copyOf(Map.of("a", 2, "b", "y")));
+  }
+
+  private static SubmissionValues read(String json, SubmissionValues.Layout layout) {
+    try (JsonParser parser = MAPPER.createParser(json)) {
+      return SubmissionValues.read(parser, layout);
+    }
+  }
+
+  private static Field field(String name, String type, List<String> options) {
+    return Field.builder()
+        .name(name)
+        .type(type)
+        .options(
+            options == null
+                ? null
+                : options.stream().map(value -> new FieldOption(value, value)).toList())
+        .build();
+  }
+}
@@ -0,0 +1,43 @@
+package com.example.backend.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.repository.SubmissionKeyDictionary;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SubmitterConverterTest {
+
+  @Mock private SubmissionKeyDictionary dictionary;
+  @InjectMocks private SubmitterConverter converter;
+
+  @Test
+  void looksUsernamesUpWithoutRegisteringThem() {
+    when(dictionary.submitterId("alice")).thenReturn(7);
+    when(dictionary.username(7)).thenReturn("alice");
+
+    assertEquals(7, converter.convertToDatabaseColumn("alice"));
+    assertEquals("alice", converter.convertToEntityAttribute(7));
+    verify(dictionary, never()).registerSubmitter(any());
+  }
+
+  @Test
+  void passesNullsThrough() {
+    assertNull(converter.convertToDatabaseColumn(null));
+    assertNull(converter.convertToEntityAttribute(null));
+    verifyNoInteractions(dictionary);
+  }
+
+  @Test
+  void registrationRegistersTheSubmitterOfANewSubmission() {
+    new SubmitterRegistration(dictionary).register(new FormData("form1", Map.of(), "bob"));
+
+    verify(dictionary).registerSubmitter("bob");
+  }
+}
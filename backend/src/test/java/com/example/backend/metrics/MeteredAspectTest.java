@@ -0,0 +1,114 @@
+package com.example.backend.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.backend.entity.FormData;
+import com.example.backend.repository.SubmissionKeyDictionary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+class MeteredAspectTest {
+
+  private MeterRegistry registry;
+  private SubmissionKeyDictionary dictionary;
+  private Target target;
+
+  @Metered
+  public static class Target {
+    public FormData save(FormData formData) {
+      return formData;
+    }
+
+    public String lookup(String formKey) {
+      throw new NoSuchElementException(formKey);
+    }
+
+    public void reject(String formKey) {
+      throw new IllegalArgumentException("bad");
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    dictionary = mock(SubmissionKeyDictionary.class);
+    when(dictionary.isKnownForm("contact")).thenReturn(true);
+    AspectJProxyFactory factory = new AspectJProxyFactory(new Target());
+    factory.setProxyTargetClass(true);
+    factory.addAspect(new MeteredAspect(registry, new FormKeyTags(dictionary)));
+    target = factory.getProxy();
+  }
+
+  @Test
+  void recordsSuccessTaggedWithFormKeyFromArgument() {
+    target.save(new FormData("contact", Map.of(), "alice"));
+
+    Timer timer =
+        registry
+            .find(MeteredAspect.TIMER)
+            .tags("operation", "save", "formKey", "contact", "outcome", "success")
+            .timer();
+    assertEquals(1, timer.count());
+  }
+
+  @Test
+  void collapsesFormKeyOfMissingForms() {
+    assertThrows(NoSuchElementException.class, () -> target.lookup("random-key"));
+
+    assertEquals(
+        1,
+        registry
+            .find(MeteredAspect.TIMER)
+            .tags("operation", "lookup", "formKey", MeteredAspect.UNKNOWN, "outcome", "not_found")
+            .timer()
+            .count());
+    assertNull(registry.find(MeteredAspect.TIMER).tag("formKey", "random-key").timer());
+  }
+
+  @Test
+  void classifiesInvalidInput() {
+    assertThrows(IllegalArgumentException.class, () -> target.reject("contact"));
+
+    assertEquals(
+        1,
+        registry
+            .find(MeteredAspect.TIMER)
+            .tags("operation", "reject", "formKey", "contact", "outcome", "invalid")
+            .timer()
+            .count());
+  }
+
+  @Test
+  void doesNotTagWithKeysOfFormsThatDoNotExist() {
+    target.save(new FormData("made-up-" + System.nanoTime(), Map.of(), "alice"));
+    assertThrows(IllegalArgumentException.class, () -> target.reject("another-made-up-key"));
+
+    assertEquals(
+        2,
+        registry.find(MeteredAspect.TIMER).tag("formKey", MeteredAspect.UNKNOWN).timers().stream()
+            .mapToLong(Timer::count)
+            .sum());
+    assertEquals(2, registry.find(MeteredAspect.TIMER).timers().size());
+  }
+
+  @Test
+  void looksUpAnUnknownKeyOnlyOnce() {
+    for (int i = 0; i < 3; i++) {
+      assertThrows(IllegalArgumentException.class, () -> target.reject("made-up"));
+    }
+
+    verify(dictionary, times(1)).isKnownForm("made-up");
+  }
+}
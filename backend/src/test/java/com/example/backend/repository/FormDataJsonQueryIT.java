@@ -0,0 +1,110 @@
+package com.example.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.backend.dto.FieldPredicateDto;
+import com.example.backend.dto.FieldPredicateDto.Op;
+import com.example.backend.dto.FormDataFilter;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormData;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/** Answer predicates need PostgreSQL's jsonb operators, so this runs against a real database. */
+@DataJpaTest
+@Import(SubmissionKeyDictionary.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@ActiveProfiles("test")
+class FormDataJsonQueryIT {
+
+  @Container static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+  @DynamicPropertySource
+  static void datasource(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+  }
+
+  @Autowired private FormDataRepository formDataRepository;
+  @Autowired private FormRepository formRepository;
+  @Autowired private EntityManager entityManager;
+
+  @BeforeEach
+  void setUp() {
+    formRepository.save(Form.builder().formKey("survey").title("Survey").fields(List.of()).build());
+    // Same index as V6 (without CONCURRENTLY, which cannot run in the test transaction)
+    entityManager
+        .createNativeQuery(
+            "CREATE INDEX IF NOT EXISTS idx_form_data_data"
+                + " ON form_data USING GIN (data jsonb_path_ops)")
+        .executeUpdate();
+    save(Map.of("rating", 1, "topics", List.of("billing", "ui")));
+    save(Map.of("rating", 2, "topics", List.of("ui")));
+    save(Map.of("rating", 5, "topics", List.of("billing")));
+  }
+
+  @Test
+  void filtersByInRangeAndContains() {
+    assertEquals(List.of(1, 2), ratings(predicate("rating", Op.IN, null, List.of(1, 2))));
+    assertEquals(
+        List.of(2, 5),
+        ratings(FieldPredicateDto.builder().field("rating").op(Op.RANGE).min(2).build()));
+    assertEquals(List.of(1, 5), ratings(predicate("topics", Op.CONTAINS, "billing", null)));
+    assertEquals(List.of(5), ratings(predicate("rating", Op.EQUALS, 5, null)));
+  }
+
+  @Test
+  void equalityPredicateCanUseTheGinIndex() {
+    entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+    @SuppressWarnings("unchecked")
+    List<String> plan =
+        entityManager
+            .createNativeQuery("EXPLAIN SELECT id FROM form_data WHERE data @@ cast(? as jsonpath)")
+            .setParameter(1, "$.\"rating\" == 1")
+            .getResultList();
+
+    assertTrue(
+        plan.stream().anyMatch(line -> line.contains("idx_form_data_data")), plan.toString());
+  }
+
+  private List<Integer> ratings(FieldPredicateDto predicate) {
+    FormDataFilter filter =
+        FormDataFilter.builder().formKey("survey").predicates(List.of(predicate)).build();
+    return formDataRepository.findAll(FormDataSpecifications.matching(filter)).stream()
+        .map(formData -> ((Number) formData.getData().get("rating")).intValue())
+        .sorted()
+        .toList();
+  }
+
+  private static FieldPredicateDto predicate(
+      String field, Op op, Object value, List<?> values) {
+    return FieldPredicateDto.builder()
+        .field(field)
+        .op(op)
+        .value(value)
+        .values(values == null ? null : List.<Object>copyOf(values))
+        .build();
+  }
+
+  private void save(Map<String, Object> data) {
+    FormData formData = new FormData("survey", data, "user");
+    formData.setFormVersion(0);
+    formDataRepository.saveAndFlush(formData);
+  }
+}
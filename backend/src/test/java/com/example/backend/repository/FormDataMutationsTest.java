@@ -0,0 +1,76 @@
+package com.example.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormData;
+import com.example.backend.entity.SubmissionValues;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/** Runs on H2; {@link FormDataMutationsIT} runs the same tests against PostgreSQL. */
+@DataJpaTest
+@Import(SubmissionKeyDictionary.class)
+@ActiveProfiles("test")
+class FormDataMutationsTest {
+
+  @Autowired private FormDataRepository formDataRepository;
+  @Autowired private FormRepository formRepository;
+  @Autowired private EntityManager entityManager;
+
+  private FormData saved;
+
+  @BeforeEach
+  void setUp() {
+    formRepository.saveAndFlush(
+        Form.builder().formKey("survey").title("Survey").fields(List.of()).build());
+    FormData formData = new FormData("survey", Map.of("field", "a"), "username");
+    formData.setFormVersion(0);
+    saved = formDataRepository.saveAndFlush(formData);
+  }
+
+  @Test
+  void lockedSubmissionIsReplacedAndPinnedToTheGivenFormVersion() {
+    FormData locked = formDataRepository.lockOwned(saved.getId(), "username", 0L).orElseThrow();
+
+    assertEquals(Map.of("field", "a"), locked.getData());
+    assertEquals("survey", locked.getFormKey());
+    assertEquals(0, locked.getFormVersion());
+    assertEquals(0L, locked.getVersion());
+    assertEquals(saved.getSubmittedAt(), locked.getSubmittedAt());
+
+    formDataRepository.replaceLocked(locked, 1, SubmissionValues.copyOf(Map.of("field", "b")));
+    entityManager.clear();
+    FormData updated = formDataRepository.findById(saved.getId()).orElseThrow();
+    assertEquals(Map.of("field", "b"), updated.getData());
+    assertEquals(1, updated.getFormVersion());
+    assertEquals(1L, updated.getVersion());
+  }
+
+  @Test
+  void lockMatchesNothingForOtherUsersOrVersions() {
+    assertTrue(formDataRepository.lockOwned(saved.getId(), "otheruser", null).isEmpty());
+    assertTrue(formDataRepository.lockOwned(saved.getId(), "username", 5L).isEmpty());
+    assertTrue(formDataRepository.lockOwned(-1L, "username", null).isEmpty());
+  }
+
+  @Test
+  void deleteReturnsTheDeletedRowOnlyToItsOwner() {
+    assertTrue(formDataRepository.deleteOwned(saved.getId(), "otheruser").isEmpty());
+
+    FormData deleted = formDataRepository.deleteOwned(saved.getId(), "username").orElseThrow();
+
+    assertEquals(Map.of("field", "a"), deleted.getData());
+    assertEquals(0, deleted.getFormVersion());
+    assertNotNull(deleted.getSubmittedAt());
+    assertFalse(formDataRepository.existsById(saved.getId()));
+    assertTrue(formDataRepository.deleteOwned(saved.getId(), "username").isEmpty());
+  }
+}
@@ -2,33 +2,155 @@ package com.example.backend.repository;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.example.backend.dto.FormDataFilter;
+import com.example.backend.entity.Form;
 import com.example.backend.entity.FormData;
+import com.example.backend.entity.SubmissionValues;
+import com.example.backend.util.CursorUtils;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.ActiveProfiles;
 
 @DataJpaTest
+@Import(SubmissionKeyDictionary.class)
 @ActiveProfiles("test")
 class FormDataRepositoryTest {
 
   @Autowired private FormDataRepository formDataRepository;
+  @Autowired private FormRepository formRepository;
+  @Autowired private EntityManager entityManager;
+
+  @BeforeEach
+  void setUp() {
+    for (String formKey : List.of("form1", "form2")) {
+      formRepository.save(Form.builder().formKey(formKey).title(formKey).fields(List.of()).build());
+    }
+  }
 
   @Test
-  void findBySubmittedByOrderBySubmittedAtDesc() {
-    FormData formData1 = new FormData("form1", Map.of("field", "value1"), "username");
-    FormData formData2 = new FormData("form1", Map.of("field", "value2"), "username");
-    FormData formData3 = new FormData("form1", Map.of("field", "value3"), "otheruser");
+  void findByIdAndSubmittedByOnlyFindsTheOwnersSubmission() {
+    FormData saved = formDataRepository.save(submission("form1", Map.of(), "username"));
+
+    assertTrue(formDataRepository.findByIdAndSubmittedBy(saved.getId(), "username").isPresent());
+    assertTrue(formDataRepository.findByIdAndSubmittedBy(saved.getId(), "otheruser").isEmpty());
+  }
 
-    formDataRepository.save(formData1);
-    formDataRepository.save(formData2);
-    formDataRepository.save(formData3);
+  @Test
+  void streamByReturnsMatchingSubmissionsInSortOrder() {
+    FormData first = formDataRepository.save(submission("form1", Map.of("n", 1), "username"));
+    FormData second = formDataRepository.save(submission("form1", Map.of("n", 2), "username"));
+    formDataRepository.save(submission("form2", Map.of("n", 3), "username"));
+    formDataRepository.save(submission("form1", Map.of("n", 4), "otheruser"));
+    entityManager.flush();
+    entityManager.clear();
 
-    List<FormData> result = formDataRepository.findBySubmittedByOrderBySubmittedAtDesc("username");
+    FormDataFilter filter =
+        FormDataFilter.builder().formKey("form1").submittedBy("username").build();
+    try (Stream<FormData> stream =
+        formDataRepository.streamBy(
+            FormDataSpecifications.matching(filter), Sort.by(Sort.Direction.DESC, "id"))) {
+      assertEquals(
+          List.of(second.getId(), first.getId()), stream.map(FormData::getId).toList());
+    }
+    try (Stream<FormData> stream =
+        formDataRepository.streamBy(
+            FormDataSpecifications.matching(FormDataFilter.builder().build()), Sort.unsorted())) {
+      assertEquals(4, stream.count());
+    }
+  }
+
+  @Test
+  void formKeyAndSubmitterAreStoredAsIdsAndLoadedAsSharedStrings() {
+    formDataRepository.save(submission("form1", Map.of("field", "a"), "username"));
+    formDataRepository.save(submission("form1", Map.of("field", "b"), "username"));
+    entityManager.flush();
+    entityManager.clear();
+
+    Object[] columns =
+        (Object[])
+            entityManager
+                .createNativeQuery(
+                    "SELECT form_id, submitter_id FROM form_data FETCH FIRST 1 ROW ONLY")
+                .getSingleResult();
+    List<FormData> loaded = formDataRepository.findAll();
+
+    assertEquals(
+        formRepository.findByFormKey("form1").orElseThrow().getId(),
+        ((Number) columns[0]).longValue());
+    assertInstanceOf(Number.class, columns[1]);
+    assertSame(loaded.get(0).getFormKey(), loaded.get(1).getFormKey());
+    assertSame(loaded.get(0).getSubmittedBy(), loaded.get(1).getSubmittedBy());
+    assertTrue(formDataRepository.existsByFormKey("form1"));
+    assertFalse(formDataRepository.existsByFormKey("unknown"));
+  }
+
+  @Test
+  void replacedAnswersAreWrittenBackAsJson() {
+    FormData saved =
+        formDataRepository.save(
+            submission("form1", Map.of("field", "a", "count", 3), "username"));
+    entityManager.flush();
+    entityManager.clear();
+
+    FormData loaded = formDataRepository.findById(saved.getId()).orElseThrow();
+    assertEquals(Map.of("field", "a", "count", 3), loaded.getData());
+    loaded.setData(SubmissionValues.copyOf(Map.of("field", "b")));
+    entityManager.flush();
+    entityManager.clear();
+
+    assertEquals(
+        Map.of("field", "b"), formDataRepository.findById(saved.getId()).orElseThrow().getData());
+  }
+
+  @Test
+  void findByScrollsThroughFilteredSubmissionsWithKeyset() {
+    for (int i = 0; i < 5; i++) {
+      formDataRepository.save(submission("form1", Map.of("field", i), "username"));
+    }
+    formDataRepository.save(submission("form2", Map.of("field", "other"), "username"));
+
+    FormDataFilter filter = FormDataFilter.builder().formKey("form1").build();
+    Sort sort = Sort.by(Sort.Direction.DESC, "submittedAt").and(Sort.by(Sort.Direction.DESC, "id"));
+    List<Long> ids = new ArrayList<>();
+    ScrollPosition position = ScrollPosition.keyset();
+    Window<FormData> window;
+    do {
+      ScrollPosition current = position;
+      window =
+          formDataRepository.findBy(
+              FormDataSpecifications.matching(filter),
+              query -> query.sortBy(sort).limit(2).scroll(current));
+      window.forEach(f -> ids.add(f.getId()));
+      if (window.hasNext()) {
+        // round-trip through the opaque cursor the controller hands out
+        position =
+            CursorUtils.decode(
+                CursorUtils.encode((KeysetScrollPosition) window.positionAt(window.size() - 1)));
+      }
+    } while (window.hasNext());
+
+    assertEquals(5, ids.size());
+    assertEquals(5, ids.stream().distinct().count());
+    assertTrue(
+        formDataRepository.findAllById(ids).stream()
+            .allMatch(f -> f.getFormKey().equals("form1")));
+  }
 
-    assertEquals(2, result.size());
-    assertTrue(result.stream().allMatch(f -> f.getFormKey().equals("form1")));
+  private static FormData submission(String formKey, Map<String, ?> data, String submittedBy) {
+    FormData formData = new FormData(formKey, data, submittedBy);
+    formData.setFormVersion(0);
+    return formData;
   }
 }
@@ -0,0 +1,81 @@
+package com.example.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.backend.dto.FormListItemDto;
+import com.example.backend.entity.Field;
+import com.example.backend.entity.Form;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@Import(SubmissionKeyDictionary.class)
+@ActiveProfiles("test")
+class FormRepositoryTest {
+
+  @Autowired private FormRepository formRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void findListItemsByPagesWithoutLoadingEntitiesOrRetiredForms() {
+    saveForm("b-form", "Beta");
+    saveForm("a-form", "Alpha");
+    saveForm("c-form", "Gamma");
+    formRepository.save(
+        Form.builder().formKey("d-form").title("Delta").fields(List.of()).retired(true).build());
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    Slice<FormListItemDto> first =
+        formRepository.findListItemsByRetiredFalse(
+            PageRequest.of(0, 2, Sort.by("title", "formKey")));
+    Slice<FormListItemDto> second =
+        formRepository.findListItemsByRetiredFalse(
+            PageRequest.of(1, 2, Sort.by("title", "formKey")));
+
+    assertEquals(
+        List.of(new FormListItemDto("a-form", "Alpha"), new FormListItemDto("b-form", "Beta")),
+        first.getContent());
+    assertTrue(first.hasNext());
+    assertEquals(List.of(new FormListItemDto("c-form", "Gamma")), second.getContent());
+    assertFalse(second.hasNext());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  void findListItemsByTitleMatchesCaseInsensitiveSubstring() {
+    saveForm("contact", "Contact Us");
+    saveForm("feedback", "Customer Feedback");
+    saveForm("discount", "100% Discount");
+
+    Slice<FormListItemDto> result =
+        formRepository.findListItemsByRetiredFalseAndTitleContainingIgnoreCase(
+            "CONTACT", PageRequest.of(0, 10, Sort.by("title")));
+    Slice<FormListItemDto> literalPercent =
+        formRepository.findListItemsByRetiredFalseAndTitleContainingIgnoreCase(
+            "0%", PageRequest.of(0, 10));
+
+    assertEquals(List.of(new FormListItemDto("contact", "Contact Us")), result.getContent());
+    assertEquals(
+        List.of(new FormListItemDto("discount", "100% Discount")), literalPercent.getContent());
+  }
+
+  private void saveForm(String formKey, String title) {
+    formRepository.save(
+        Form.builder()
+            .formKey(formKey)
+            .title(title)
+            .fields(List.of(Field.builder().name("field").label("Field").type("text").build()))
+            .build());
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.backend.dto.FieldPredicateDto;
+import com.example.backend.dto.FieldPredicateDto.Op;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SubmissionJsonPathTest {
+
+  @Test
+  void compilesEachOperatorAndJoinsWithAnd() {
+    String path =
+        SubmissionJsonPath.compile(
+            List.of(
+                FieldPredicateDto.builder().field("rating").op(Op.IN).values(List.of(1, 2)).build(),
+                FieldPredicateDto.builder().field("subject").op(Op.EQUALS).value("support").build(),
+                FieldPredicateDto.builder()
+                    .field("topics")
+                    .op(Op.CONTAINS)
+                    .value("billing")
+                    .build(),
+                FieldPredicateDto.builder().field("age").op(Op.RANGE).min(18).max(30.5).build()));
+
+    assertEquals(
+        "($.\"rating\" == 1 || $.\"rating\" == 2)"
+            + " && $.\"subject\" == \"support\""
+            + " && $.\"topics\"[*] == \"billing\""
+            + " && ($.\"age\" >= 18 && $.\"age\" <= 30.5)",
+        path);
+  }
+
+  @Test
+  void escapesStringValues() {
+    String path =
+        SubmissionJsonPath.compile(
+            List.of(
+                FieldPredicateDto.builder()
+                    .field("name")
+                    .op(Op.EQUALS)
+                    .value("a\" || $.x == \"b\\")
+                    .build()));
+
+    assertEquals("$.\"name\" == \"a\\\" || $.x == \\\"b\\\\\"", path);
+  }
+
+  @Test
+  void rejectsInvalidFieldNamesAndValues() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            SubmissionJsonPath.compile(
+                List.of(FieldPredicateDto.builder().field("a.b").op(Op.EQUALS).value(1).build())));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            SubmissionJsonPath.compile(
+                List.of(
+                    FieldPredicateDto.builder()
+                        .field("rating")
+                        .op(Op.EQUALS)
+                        .value(List.of(1))
+                        .build())));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            SubmissionJsonPath.compile(
+                List.of(FieldPredicateDto.builder().field("rating").op(Op.RANGE).build())));
+  }
+}
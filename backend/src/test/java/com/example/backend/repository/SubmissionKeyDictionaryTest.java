@@ -0,0 +1,107 @@
+package com.example.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.backend.dto.FormDataFilter;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormData;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+
+@DataJpaTest
+@Import(SubmissionKeyDictionary.class)
+@ActiveProfiles("test")
+class SubmissionKeyDictionaryTest {
+
+  @Autowired private SubmissionKeyDictionary dictionary;
+  @Autowired private FormDataRepository formDataRepository;
+  @Autowired private FormRepository formRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void queriesByAnUnknownUsernameMatchNothingAndRegisterNobody() {
+    formRepository.save(Form.builder().formKey("form1").title("form1").fields(List.of()).build());
+    FormData saved = formDataRepository.saveAndFlush(submission("alice"));
+
+    assertTrue(formDataRepository.findByIdAndSubmittedBy(saved.getId(), "mallory").isEmpty());
+    assertEquals(
+        0,
+        formDataRepository
+            .findAll(
+                FormDataSpecifications.matching(
+                    FormDataFilter.builder().submittedBy("mallory").build()),
+                Sort.unsorted())
+            .size());
+    assertEquals(SubmissionKeyDictionary.UNKNOWN_SUBMITTER, dictionary.submitterId("mallory"));
+    assertEquals(List.of("alice"), usernames());
+  }
+
+  @Test
+  void registerSubmitterInsertsOnceInTheCallersTransaction() {
+    int id = dictionary.registerSubmitter("bob");
+
+    assertEquals(id, dictionary.registerSubmitter("bob"));
+    assertEquals(id, dictionary.submitterId("bob"));
+    assertEquals("bob", dictionary.username(id));
+    assertEquals(List.of("bob"), usernames());
+  }
+
+  @Test
+  void registrationRolledBackWithItsTransactionIsNotRemembered() {
+    dictionary.registerSubmitter("carol");
+    TestTransaction.flagForRollback();
+    TestTransaction.end();
+    TestTransaction.start();
+
+    assertEquals(SubmissionKeyDictionary.UNKNOWN_SUBMITTER, dictionary.submitterId("carol"));
+    assertNotEquals(
+        SubmissionKeyDictionary.UNKNOWN_SUBMITTER, dictionary.registerSubmitter("carol"));
+  }
+
+  @Test
+  void formRecreatedByAnotherInstanceIsLookedUpAgainOnceExpired() {
+    SubmissionKeyDictionary expiring = new SubmissionKeyDictionary(jdbcTemplate, Duration.ZERO);
+    long first = formRepository.saveAndFlush(form("form2")).getId();
+    assertEquals(first, expiring.formId("form2"));
+
+    // Deleted and created again without this dictionary being told
+    jdbcTemplate.update("DELETE FROM form WHERE id = ?", first);
+    long second = formRepository.saveAndFlush(form("form2")).getId();
+
+    assertNotEquals(first, second);
+    assertEquals(second, expiring.formId("form2"));
+    assertEquals("form2", expiring.formKey(second));
+  }
+
+  @Test
+  void unknownIdsAreNotFound() {
+    assertEquals(SubmissionKeyDictionary.UNKNOWN_FORM, dictionary.formId("no-such-form"));
+    assertFalse(dictionary.isKnownForm("no-such-form"));
+    assertThrows(NoSuchElementException.class, () -> dictionary.formKey(Long.MAX_VALUE));
+    assertThrows(NoSuchElementException.class, () -> dictionary.username(Integer.MAX_VALUE));
+  }
+
+  private List<String> usernames() {
+    return jdbcTemplate.queryForList("SELECT username FROM submitter", String.class);
+  }
+
+  private static Form form(String formKey) {
+    return Form.builder().formKey(formKey).title(formKey).fields(List.of()).build();
+  }
+
+  private static FormData submission(String submittedBy) {
+    FormData formData = new FormData("form1", Map.of(), submittedBy);
+    formData.setFormVersion(0);
+    return formData;
+  }
+}
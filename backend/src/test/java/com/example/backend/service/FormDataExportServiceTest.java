@@ -0,0 +1,159 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.archive.SubmissionArchive;
+import com.example.backend.dto.FormDataDto;
+import com.example.backend.dto.FormDataFilter;
+import com.example.backend.entity.Field;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormData;
+import com.example.backend.entity.SubmissionValues;
+import com.example.backend.mapper.FormDataMapper;
+import com.example.backend.repository.FormDataRepository;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class FormDataExportServiceTest {
+
+  @Mock private FormDataRepository formDataRepository;
+  @Mock private SubmissionArchive submissionArchive;
+  @Mock private FormDataMapper formDataMapper;
+  @Mock private EntityManager entityManager;
+
+  private FormDataExportService exportService;
+
+  private final Form form =
+      Form.builder()
+          .formKey("contact")
+          .fields(
+              List.of(
+                  Field.builder().name("name").type("text").build(),
+                  Field.builder().name("topics").type("checkbox").build()))
+          .build();
+
+  @BeforeEach
+  void setUp() {
+    exportService =
+        new FormDataExportService(
+            formDataRepository,
+            submissionArchive,
+            formDataMapper,
+            new ObjectMapper(),
+            entityManager,
+            1);
+  }
+
+  @Test
+  void exportCsvWritesHeaderFromFieldsAndEscapesValues() {
+    FormData formData =
+        new FormData(
+            1L,
+            "contact",
+            0,
+            SubmissionValues.copyOf(
+                Map.of("name", "Doe, \"Jane\"", "topics", List.of("a", "b"))),
+            LocalDateTime.of(2024, 1, 2, 3, 4, 5),
+            "user",
+            0L);
+    when(submissionArchive.streamByFormKey("contact")).thenReturn(Stream.empty());
+    when(formDataRepository.streamByFormKeyOrderById("contact")).thenReturn(Stream.of(formData));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long count = exportService.export(form, FormDataExportService.Format.CSV, out);
+
+    assertEquals(1, count);
+    assertEquals(
+        "id,submittedAt,submittedBy,name,topics\r\n"
+            + "1,2024-01-02T03:04:05,user,\"Doe, \"\"Jane\"\"\",a;b\r\n",
+        out.toString(StandardCharsets.UTF_8));
+    verify(entityManager).detach(formData);
+  }
+
+  @Test
+  void exportNdjsonWritesArchivedThenLiveSubmissions() {
+    FormData archived = new FormData("contact", Map.of("name", "A"), "user");
+    FormData live = new FormData("contact", Map.of("name", "B"), "user");
+    when(submissionArchive.streamByFormKey("contact")).thenReturn(Stream.of(archived));
+    when(formDataRepository.streamByFormKeyOrderById("contact")).thenReturn(Stream.of(live));
+    when(formDataMapper.toDto(any(FormData.class)))
+        .thenAnswer(
+            invocation -> {
+              FormData f = invocation.getArgument(0);
+              return new FormDataDto(
+                  null, f.getFormKey(), f.getFormVersion(), f.getData(), null, f.getSubmittedBy(),
+                  null);
+            });
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long count = exportService.export(form, FormDataExportService.Format.NDJSON, out);
+
+    assertEquals(2, count);
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, lines.length);
+    assertTrue(lines[0].contains("\"name\":\"A\""));
+    assertTrue(lines[1].contains("\"name\":\"B\""));
+    verify(entityManager).detach(live);
+    verify(entityManager, never()).detach(archived);
+  }
+
+  @Test
+  void streamsBeyondTheLimitAreRefusedUntilOneIsReleased() {
+    Runnable release = exportService.acquireStream();
+
+    assertThrows(TooManyStreamsException.class, exportService::acquireStream);
+    release.run();
+    // A second release of the same slot must not free another one
+    release.run();
+    assertDoesNotThrow(exportService::acquireStream);
+    assertThrows(TooManyStreamsException.class, exportService::acquireStream);
+  }
+
+  @Test
+  void streamWritesMatchingSubmissionsNewestFirstAsNdjson() {
+    FormData newer = new FormData("contact", Map.of("name", "B"), "user");
+    FormData older = new FormData("contact", Map.of("name", "A"), "user");
+    when(formDataRepository.streamBy(any(), eq(FormDataService.NEWEST_FIRST)))
+        .thenReturn(Stream.of(newer, older));
+    when(formDataMapper.toDto(any(FormData.class)))
+        .thenAnswer(
+            invocation -> {
+              FormData f = invocation.getArgument(0);
+              return new FormDataDto(
+                  null, f.getFormKey(), f.getFormVersion(), f.getData(), null, f.getSubmittedBy(),
+                  null);
+            });
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long count =
+        exportService.stream(FormDataFilter.builder().submittedBy("user").build(), out);
+
+    assertEquals(2, count);
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertTrue(lines[0].contains("\"name\":\"B\""));
+    assertTrue(lines[1].contains("\"name\":\"A\""));
+    verify(entityManager).detach(newer);
+    verifyNoInteractions(submissionArchive);
+  }
+
+  @Test
+  void parseRejectsUnknownFormat() {
+    assertEquals(FormDataExportService.Format.CSV, FormDataExportService.Format.parse("csv"));
+    assertThrows(IllegalArgumentException.class, () -> FormDataExportService.Format.parse("xml"));
+  }
+}
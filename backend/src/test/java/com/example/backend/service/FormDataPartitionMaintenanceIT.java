@@ -0,0 +1,149 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.backend.entity.Field;
+import com.example.backend.entity.FieldOption;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormCounter;
+import com.example.backend.entity.FormData;
+import com.example.backend.repository.FormCounterRepository;
+import com.example.backend.repository.FormRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Counts submissions with {@link SubmissionCounters}, expires their partition and checks that the
+ * counters are back to what the remaining submissions contribute. Runs the Flyway migrations, as
+ * {@code form_data} is only partitioned there.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FormDataPartitionMaintenanceIT {
+
+  @Container static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+  @DynamicPropertySource
+  static void datasource(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    registry.add("spring.flyway.enabled", () -> "true");
+    registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+  }
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private FormRepository formRepository;
+  @Autowired private FormCounterRepository formCounterRepository;
+
+  @Test
+  void expiringAMonthUncountsOnlyWhatItsSubmissionsWereCountedFor() {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    SubmissionCounters counters =
+        new SubmissionCounters(formCounterRepository, transactionTemplate, Duration.ofHours(1));
+    // Version 0 requires the name and has no "green"; version 1 changes both
+    Form v0 = form(true, "red", "blue");
+    Form v1 = form(false, "red", "blue", "green");
+    Form saved = formRepository.saveAndFlush(form(true, "red", "blue"));
+    snapshot();
+    saved.setFields(v1.getFields());
+    formRepository.saveAndFlush(saved);
+    snapshot();
+    jdbcTemplate.update("INSERT INTO submitter (username) VALUES ('alice')");
+    new FormDataPartitionMaintenance(jdbcTemplate, transactionTemplate, 0, 0, "drop")
+        .maintain(YearMonth.of(2024, 1));
+
+    LocalDateTime january = LocalDateTime.of(2024, 1, 10, 12, 0);
+    LocalDateTime now = LocalDateTime.now();
+    submit(counters, v0, 0, january, Map.of("name", "A", "color", "green"));
+    submit(counters, v0, 0, january, Map.of("name", "B", "color", List.of("red", "blue")));
+    submit(counters, v1, 1, now, Map.of("name", "C", "color", "green"));
+    counters.flush();
+
+    new FormDataPartitionMaintenance(jdbcTemplate, transactionTemplate, 0, 1, "drop")
+        .maintain(YearMonth.from(now));
+
+    Map<String, Long> totals =
+        formCounterRepository.findByIdFormKey("poll").stream()
+            .filter(counter -> counter.getTotal() != 0)
+            .collect(
+                Collectors.toMap(
+                    counter ->
+                        counter.getId().getKind()
+                            + ":" + counter.getId().getFieldName()
+                            + ":" + counter.getId().getItemValue(),
+                    FormCounter::getTotal));
+    assertEquals(
+        Map.of(
+            "DAY::" + now.toLocalDate(), 1L,
+            "ANSWERED:name:", 1L,
+            "ANSWERED:color:", 1L,
+            "OPTION:color:green", 1L),
+        totals);
+    assertFalse(
+        jdbcTemplate.queryForObject(
+            "SELECT to_regclass('form_data_p2024_01') IS NOT NULL", Boolean.class));
+  }
+
+  private static Form form(boolean nameRequired, String... colors) {
+    List<FieldOption> options =
+        List.of(colors).stream().map(c -> FieldOption.builder().value(c).label(c).build()).toList();
+    return Form.builder()
+        .formKey("poll")
+        .title("Poll")
+        .fields(
+            List.of(
+                Field.builder().name("name").type("text").required(nameRequired).build(),
+                Field.builder().name("color").type("checkbox").options(options).build()))
+        .build();
+  }
+
+  private void snapshot() {
+    jdbcTemplate.update(
+        "INSERT INTO form_version (form_id, version, title, fields)"
+            + " SELECT id, version, title, fields FROM form WHERE form_key = 'poll'");
+  }
+
+  private void submit(
+      SubmissionCounters counters,
+      Form form,
+      int version,
+      LocalDateTime submittedAt,
+      Map<String, ?> data) {
+    jdbcTemplate.update(
+        "INSERT INTO form_data (form_id, form_version, data, submitted_at, submitter_id)"
+            + " VALUES ((SELECT id FROM form WHERE form_key = 'poll'), ?, CAST(? AS jsonb), ?,"
+            + " (SELECT id FROM submitter WHERE username = 'alice'))",
+        version,
+        JsonMapper.shared().writeValueAsString(data),
+        submittedAt);
+    FormData formData = new FormData("poll", data, "alice");
+    formData.setSubmittedAt(submittedAt);
+    counters.added(form, formData);
+  }
+}
@@ -0,0 +1,125 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class FormDataPartitionMaintenanceTest {
+
+  @Mock private JdbcTemplate jdbcTemplate;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @Test
+  void createsCurrentAndFutureMonthsUnderTheMaintenanceLock() {
+    maintenance(2, 0, "drop").maintain(YearMonth.of(2024, 12));
+
+    InOrder inOrder = inOrder(jdbcTemplate);
+    inOrder.verify(jdbcTemplate).execute(contains("pg_advisory_xact_lock"));
+    inOrder
+        .verify(jdbcTemplate)
+        .execute(
+            "CREATE TABLE form_data_p2024_12 PARTITION OF form_data"
+                + " FOR VALUES FROM ('2024-12-01') TO ('2025-01-01')");
+    verify(jdbcTemplate).execute(contains("form_data_p2025_01"));
+    verify(jdbcTemplate).execute(contains("form_data_p2025_02"));
+    verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class));
+  }
+
+  @Test
+  void leavesPartitionsAnotherInstanceCreated() {
+    when(jdbcTemplate.queryForObject(
+            contains("to_regclass"), eq(Boolean.class), eq("form_data_p2024_12")))
+        .thenReturn(true);
+
+    maintenance(0, 0, "drop").maintain(YearMonth.of(2024, 12));
+
+    verify(jdbcTemplate, never()).execute(startsWith("CREATE TABLE"));
+  }
+
+  @Test
+  void movesRowsTheDefaultPartitionTookIntoTheNewMonth() {
+    // lenient: the existence check of the partition is another queryForObject
+    lenient()
+        .when(jdbcTemplate.queryForObject(contains("FROM form_data_default"), eq(Boolean.class)))
+        .thenReturn(true);
+
+    maintenance(0, 0, "drop").maintain(YearMonth.of(2024, 12));
+
+    String range = " WHERE submitted_at >= '2024-12-01' AND submitted_at < '2025-01-01'";
+    InOrder inOrder = inOrder(jdbcTemplate);
+    inOrder
+        .verify(jdbcTemplate)
+        .execute("ALTER TABLE form_data DETACH PARTITION form_data_default");
+    inOrder.verify(jdbcTemplate).execute(startsWith("CREATE TABLE form_data_p2024_12"));
+    inOrder
+        .verify(jdbcTemplate)
+        .update("INSERT INTO form_data SELECT * FROM form_data_default" + range);
+    inOrder.verify(jdbcTemplate).update("DELETE FROM form_data_default" + range);
+    inOrder
+        .verify(jdbcTemplate)
+        .execute("ALTER TABLE form_data ATTACH PARTITION form_data_default DEFAULT");
+  }
+
+  @Test
+  void failedRunDoesNotFailTheCaller() {
+    doThrow(new DataAccessResourceFailureException("catalog conflict"))
+        .when(jdbcTemplate)
+        .execute(contains("pg_advisory_xact_lock"));
+
+    assertDoesNotThrow(() -> maintenance(0, 0, "drop").maintain());
+  }
+
+  @Test
+  void dropsOnlyMonthsBeforeTheRetentionWindow() {
+    when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+        .thenReturn(
+            List.of("form_data_p2024_03", "form_data_p2024_01", "form_data_p2024_02", "other"));
+
+    maintenance(0, 2, "drop").maintain(YearMonth.of(2024, 3));
+
+    InOrder inOrder = inOrder(jdbcTemplate);
+    inOrder.verify(jdbcTemplate).update(contains("FROM form_data_p2024_01"));
+    inOrder
+        .verify(jdbcTemplate)
+        .execute("ALTER TABLE form_data DETACH PARTITION form_data_p2024_01");
+    inOrder.verify(jdbcTemplate).execute("DROP TABLE form_data_p2024_01");
+    verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION form_data_p2024_02"));
+    verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION other"));
+  }
+
+  @Test
+  void detachKeepsTheExpiredTable() {
+    when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+        .thenReturn(List.of("form_data_p2023_12"));
+
+    maintenance(0, 1, "detach").maintain(YearMonth.of(2024, 1));
+
+    verify(jdbcTemplate).execute("ALTER TABLE form_data DETACH PARTITION form_data_p2023_12");
+    verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+  }
+
+  @Test
+  void monthOfIgnoresForeignTables() {
+    assertEquals(YearMonth.of(2024, 5), FormDataPartitionMaintenance.monthOf("form_data_p2024_05"));
+    assertNull(FormDataPartitionMaintenance.monthOf("form_data_p2024"));
+    assertNull(FormDataPartitionMaintenance.monthOf("form_counter"));
+  }
+
+  private FormDataPartitionMaintenance maintenance(int ahead, int retention, String expired) {
+    return new FormDataPartitionMaintenance(
+        jdbcTemplate, new TransactionTemplate(transactionManager), ahead, retention, expired);
+  }
+}
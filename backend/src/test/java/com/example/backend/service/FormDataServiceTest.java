@@ -3,15 +3,23 @@ package com.example.backend.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.example.backend.archive.SubmissionArchive;
+import com.example.backend.dto.FormDataBatchItemDto;
+import com.example.backend.dto.FormDataBatchResultDto;
+import com.example.backend.dto.ValidationErrorDto;
 import com.example.backend.entity.Form;
 import com.example.backend.entity.FormData;
+import com.example.backend.entity.SubmissionValues;
 import com.example.backend.repository.FormDataRepository;
-import java.util.Collections;
+import com.example.backend.validation.SubmissionValidationException;
+import com.example.backend.validation.SubmissionValidator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -21,13 +29,18 @@ class FormDataServiceTest {
 
   @Mock private FormDataRepository formDataRepository;
   @Mock private FormService formService;
+  @Mock private SubmissionValidator submissionValidator;
+  @Mock private SubmissionCounters submissionCounters;
+  @Mock private SubmissionArchive submissionArchive;
+  @Mock private FormVersions formVersions;
+  @Mock private SubmissionFeed submissionFeed;
   @InjectMocks private FormDataService formDataService;
 
   @Test
   void createFormSubmission() {
     String formKey = "form1";
     FormData formData = new FormData(formKey, Map.of("field", "value"), "username");
-    Form mockDefinition = Form.builder().formKey(formKey).build();
+    Form mockDefinition = Form.builder().formKey(formKey).version(3L).build();
 
     when(formService.getForm(formKey)).thenReturn(mockDefinition);
     when(formDataRepository.save(formData)).thenReturn(formData);
@@ -36,7 +49,66 @@ class FormDataServiceTest {
 
     assertNotNull(result);
     assertEquals(formKey, result.getFormKey());
+    assertEquals(3, result.getFormVersion());
+    verify(submissionValidator).validate(mockDefinition, formData.getData());
     verify(formDataRepository).save(formData);
+    verify(submissionCounters).added(mockDefinition, formData);
+    verify(submissionFeed).published(formData);
+  }
+
+  @Test
+  void createFormSubmissionWithInvalidDataIsNotSaved() {
+    String formKey = "form1";
+    FormData formData = new FormData(formKey, Map.of("field", "value"), "username");
+    Form mockDefinition = Form.builder().formKey(formKey).build();
+
+    when(formService.getForm(formKey)).thenReturn(mockDefinition);
+    doThrow(new SubmissionValidationException(formKey, List.of()))
+        .when(submissionValidator)
+        .validate(mockDefinition, formData.getData());
+
+    assertThrows(
+        SubmissionValidationException.class,
+        () -> formDataService.createFormSubmission(formKey, formData));
+    verify(formDataRepository, never()).save(any());
+  }
+
+  @Test
+  void createFormSubmissionsReportsResultPerItem() {
+    Form form = Form.builder().formKey("form1").build();
+    SubmissionValues valid = SubmissionValues.copyOf(Map.of("field", "value"));
+    SubmissionValues invalid = SubmissionValues.copyOf(Map.of("field", ""));
+    ValidationErrorDto error = new ValidationErrorDto("field", "Field is required", "Required");
+
+    when(formService.getForm("form1")).thenReturn(form);
+    when(formService.getForm("missing")).thenThrow(new NoSuchElementException());
+    when(submissionValidator.check(form, valid)).thenReturn(List.of());
+    when(submissionValidator.check(form, invalid)).thenReturn(List.of(error));
+    when(formDataRepository.saveAll(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<FormData> saved = invocation.getArgument(0);
+              for (int i = 0; i < saved.size(); i++) {
+                saved.get(i).setId(100L + i);
+              }
+              return saved;
+            });
+
+    List<FormDataBatchResultDto> results =
+        formDataService.createFormSubmissions(
+            List.of(
+                new FormDataBatchItemDto("form1", valid),
+                new FormDataBatchItemDto("form1", invalid),
+                new FormDataBatchItemDto("missing", valid),
+                new FormDataBatchItemDto("form1", valid)),
+            "username");
+
+    assertEquals(new FormDataBatchResultDto(0, 100L, List.of()), results.get(0));
+    assertEquals(new FormDataBatchResultDto(1, null, List.of(error)), results.get(1));
+    assertEquals("NotFound", results.get(2).getErrors().getFirst().getCode());
+    assertEquals(new FormDataBatchResultDto(3, 101L, List.of()), results.get(3));
+    // each distinct form is resolved once per batch
+    verify(formService, times(1)).getForm("form1");
   }
 
   @Test
@@ -45,29 +117,123 @@ class FormDataServiceTest {
     FormData formData = new FormData("form1", Map.of(), "username");
     when(formDataRepository.findById(id)).thenReturn(Optional.of(formData));
 
-    Optional<FormData> result = formDataService.getFormSubmissionById(id);
+    Optional<FormData> result = formDataService.getFormSubmissionById(id, null);
 
     assertTrue(result.isPresent());
     assertEquals(formData, result.get());
+    verifyNoInteractions(submissionArchive);
   }
 
   @Test
-  void getFormSubmissions() {
-    FormData formData = new FormData("form1", Map.of(), "username");
-    when(formDataRepository.findAll()).thenReturn(Collections.singletonList(formData));
+  void getFormSubmissionByIdFallsBackToArchive() {
+    FormData archived = new FormData("form1", Map.of(), "username");
+    when(formDataRepository.findById(7L)).thenReturn(Optional.empty());
+    when(submissionArchive.findById(7L)).thenReturn(Optional.of(archived));
 
-    List<FormData> result = formDataService.getFormSubmissions();
+    assertEquals(Optional.of(archived), formDataService.getFormSubmissionById(7L, null));
+  }
 
-    assertEquals(1, result.size());
-    assertEquals(formData, result.getFirst());
+  @Test
+  void getFormSubmissionByIdForOwnerQueriesByOwnerAndHidesOthersArchivedRows() {
+    FormData own = new FormData("form1", Map.of(), "alice");
+    when(formDataRepository.findByIdAndSubmittedBy(1L, "alice")).thenReturn(Optional.of(own));
+    when(formDataRepository.findByIdAndSubmittedBy(7L, "alice")).thenReturn(Optional.empty());
+    when(submissionArchive.findById(7L))
+        .thenReturn(Optional.of(new FormData("form1", Map.of(), "bob")));
+
+    assertEquals(Optional.of(own), formDataService.getFormSubmissionById(1L, "alice"));
+    assertEquals(Optional.empty(), formDataService.getFormSubmissionById(7L, "alice"));
+    verify(formDataRepository, never()).findById(any());
   }
 
   @Test
-  void deleteFormSubmission() {
+  void deleteFormSubmissionUncountsTheDeletedRowAgainstItsPinnedVersion() {
     Long id = 1L;
-    FormData formData = new FormData("form1", Map.of(), "username");
-    when(formDataRepository.findById(id)).thenReturn(Optional.of(formData));
+    FormData deleted = new FormData("form1", Map.of(), "username");
+    deleted.setFormVersion(1);
+    deleted.setVersion(4L);
+    Form form = Form.builder().formKey("form1").version(1L).build();
+    when(formDataRepository.deleteOwned(id, "username")).thenReturn(Optional.of(deleted));
+    when(formVersions.of(deleted)).thenReturn(form);
+
     formDataService.deleteFormSubmission(id, "username");
-    verify(formDataRepository).deleteById(id);
+
+    verify(submissionCounters).removed(form, deleted);
+    verify(formDataRepository, never()).findByIdAndSubmittedBy(any(), any());
+  }
+
+  @Test
+  void deleteFormSubmissionTellsForeignFromMissingSubmissions() {
+    when(formDataRepository.deleteOwned(any(), eq("mallory"))).thenReturn(Optional.empty());
+    when(formDataRepository.findByIdAndSubmittedBy(any(), eq("mallory")))
+        .thenReturn(Optional.empty());
+    when(formDataRepository.existsById(1L)).thenReturn(true);
+    when(formDataRepository.existsById(2L)).thenReturn(false);
+
+    assertThrows(
+        SecurityException.class, () -> formDataService.deleteFormSubmission(1L, "mallory"));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> formDataService.deleteFormSubmission(2L, "mallory"));
+    verifyNoInteractions(submissionCounters);
+  }
+
+  @Test
+  void updateFormSubmissionMovesCountsToTheCurrentVersion() {
+    FormData previous = new FormData("form1", Map.of("field", "old"), "username");
+    previous.setFormVersion(1);
+    previous.setVersion(0L);
+    Form pinned = Form.builder().formKey("form1").version(1L).build();
+    Form current = Form.builder().formKey("form1").version(2L).build();
+    SubmissionValues data = SubmissionValues.copyOf(Map.of("field", "new"));
+    when(formDataRepository.lockOwned(1L, "username", null)).thenReturn(Optional.of(previous));
+    when(formService.getForm("form1")).thenReturn(current);
+    when(formVersions.of(previous)).thenReturn(pinned);
+
+    FormData updated = formDataService.updateFormSubmission(1L, data, "username", null);
+
+    assertEquals(2, updated.getFormVersion());
+    assertEquals(1L, updated.getVersion());
+    assertSame(data, updated.getData());
+    InOrder inOrder = inOrder(submissionValidator, formDataRepository);
+    inOrder.verify(submissionValidator).validate(current, data);
+    inOrder.verify(formDataRepository).replaceLocked(previous, 2, data);
+    verify(submissionCounters).changed(pinned, previous.getData(), current, data);
+  }
+
+  @Test
+  void updateFormSubmissionAtAnotherVersionFailsThePrecondition() {
+    FormData current = new FormData("form1", Map.of("field", "old"), "username");
+    current.setVersion(3L);
+    SubmissionValues data = SubmissionValues.copyOf(Map.of("field", "new"));
+    when(formDataRepository.lockOwned(1L, "username", 2L)).thenReturn(Optional.empty());
+    when(formDataRepository.findByIdAndSubmittedBy(1L, "username"))
+        .thenReturn(Optional.of(current));
+
+    assertThrows(
+        PreconditionFailedException.class,
+        () -> formDataService.updateFormSubmission(1L, data, "username", 2L));
+    verifyNoInteractions(submissionValidator, submissionCounters);
+    verify(formDataRepository, never()).replaceLocked(any(), anyInt(), any());
+  }
+
+  @Test
+  void updateFormSubmissionWithInvalidAnswersIsNeitherWrittenNorCounted() {
+    FormData previous = new FormData("form1", Map.of("field", "old"), "username");
+    previous.setFormVersion(1);
+    previous.setVersion(0L);
+    Form current = Form.builder().formKey("form1").version(1L).build();
+    SubmissionValues data = SubmissionValues.copyOf(Map.of("field", ""));
+    when(formDataRepository.lockOwned(1L, "username", null)).thenReturn(Optional.of(previous));
+    when(formService.getForm("form1")).thenReturn(current);
+    doThrow(new SubmissionValidationException("form1", List.of()))
+        .when(submissionValidator)
+        .validate(current, data);
+
+    assertThrows(
+        SubmissionValidationException.class,
+        () -> formDataService.updateFormSubmission(1L, data, "username", null));
+    verify(formDataRepository, never()).replaceLocked(any(), anyInt(), any());
+    verifyNoInteractions(submissionCounters);
   }
 }
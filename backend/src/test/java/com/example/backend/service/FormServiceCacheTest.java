@@ -0,0 +1,86 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.archive.SubmissionArchive;
+import com.example.backend.config.CacheConfig;
+import com.example.backend.entity.Form;
+import com.example.backend.repository.FormDataRepository;
+import com.example.backend.repository.FormRepository;
+import com.example.backend.repository.SubmissionKeyDictionary;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig({CacheConfig.class, FormService.class})
+@TestPropertySource(
+    properties = {"cache.forms.spec=maximumSize=10", "cache.form-stats.spec=maximumSize=10"})
+class FormServiceCacheTest {
+
+  @Autowired private FormService formService;
+  @Autowired private CacheManager cacheManager;
+  @MockitoBean private FormRepository formRepository;
+  @MockitoBean private FormDataRepository formDataRepository;
+  @MockitoBean private SubmissionKeyDictionary submissionKeyDictionary;
+  @MockitoBean private FormVersions formVersions;
+  @MockitoBean private SubmissionArchive submissionArchive;
+
+  private final Form form = Form.builder().formKey("form1").title("Form").fields(List.of()).build();
+
+  @BeforeEach
+  void setUp() {
+    cacheManager.getCache(CacheConfig.FORMS).clear();
+  }
+
+  @Test
+  void getFormIsServedFromCacheAfterFirstLoad() {
+    when(formRepository.findByFormKey("form1")).thenReturn(Optional.of(form));
+
+    formService.getForm("form1");
+    Form cached = formService.getForm("form1");
+
+    assertSame(form, cached);
+    verify(formRepository, times(1)).findByFormKey("form1");
+  }
+
+  @Test
+  void updateFormEvictsCachedDefinition() {
+    when(formRepository.findByFormKey("form1")).thenReturn(Optional.of(form));
+    when(formRepository.saveAndFlush(form)).thenReturn(form);
+
+    formService.getForm("form1");
+    formService.updateForm("form1", form, null);
+    formService.getForm("form1");
+
+    // one lookup per getForm call plus the one inside updateForm
+    verify(formRepository, times(3)).findByFormKey("form1");
+  }
+
+  @Test
+  void deleteFormEvictsCachedDefinition() {
+    when(formRepository.findByFormKey("form1")).thenReturn(Optional.of(form));
+
+    formService.getForm("form1");
+    formService.deleteForm("form1");
+
+    assertNull(cacheManager.getCache(CacheConfig.FORMS).get("form1"));
+  }
+
+  @Test
+  void missingFormIsNotCached() {
+    when(formRepository.findByFormKey("unknown")).thenReturn(Optional.empty());
+
+    assertThrows(NoSuchElementException.class, () -> formService.getForm("unknown"));
+    assertThrows(NoSuchElementException.class, () -> formService.getForm("unknown"));
+
+    verify(formRepository, times(2)).findByFormKey("unknown");
+  }
+}
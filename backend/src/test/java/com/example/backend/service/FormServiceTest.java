@@ -3,12 +3,19 @@ package com.example.backend.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.example.backend.archive.SubmissionArchive;
 import com.example.backend.entity.Field;
 import com.example.backend.entity.Form;
+import com.example.backend.entity.FormData;
+import com.example.backend.repository.FormDataRepository;
 import com.example.backend.repository.FormRepository;
+import com.example.backend.repository.SubmissionKeyDictionary;
+import com.example.backend.util.ETagUtils;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -19,6 +26,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class FormServiceTest {
 
   @Mock private FormRepository formRepository;
+  @Mock private FormDataRepository formDataRepository;
+  @Mock private SubmissionKeyDictionary submissionKeyDictionary;
+  @Mock private FormVersions formVersions;
+  @Mock private SubmissionArchive submissionArchive;
   @InjectMocks private FormService formService;
 
   @Test
@@ -46,14 +57,101 @@ class FormServiceTest {
   }
 
   @Test
-  void saveFormPersistsFormData() {
+  void saveFormPersistsFormDataAndRecordsItsFirstVersion() {
     Form newForm = Form.builder().formKey("new-form").title("New Form").fields(List.of()).build();
-    when(formRepository.save(newForm)).thenReturn(newForm);
+    when(formRepository.saveAndFlush(newForm)).thenReturn(newForm);
 
     Form result = formService.saveForm(newForm);
 
     assertEquals("new-form", result.getFormKey());
-    verify(formRepository).save(newForm);
+    verify(formRepository).saveAndFlush(newForm);
+    verify(formVersions).snapshot(newForm);
+  }
+
+  @Test
+  void retiredFormIsNotFound() {
+    Form retired = Form.builder().id(1L).formKey("old").fields(List.of()).retired(true).build();
+    when(formRepository.findByFormKey("old")).thenReturn(Optional.of(retired));
+
+    assertThrows(NoSuchElementException.class, () -> formService.getForm("old"));
+    assertThrows(
+        NoSuchElementException.class, () -> formService.updateForm("old", retired, null));
+  }
+
+  @Test
+  void updateFormRecordsTheNewVersion() {
+    Form existing =
+        Form.builder().id(1L).formKey("form1").title("Old").fields(List.of()).version(2L).build();
+    Form changed = Form.builder().title("New").fields(List.of()).build();
+    when(formRepository.findByFormKey("form1")).thenReturn(Optional.of(existing));
+    when(formRepository.saveAndFlush(existing)).thenReturn(existing);
+
+    formService.updateForm("form1", changed, new ETagUtils.EntityTag(1L, 2L));
+
+    assertEquals("New", existing.getTitle());
+    verify(formVersions).snapshot(existing);
+  }
+
+  @Test
+  void updateFormWithStaleVersionThrowsPreconditionFailed() {
+    Form existing =
+        Form.builder().id(1L).formKey("form1").title("Test Form").version(2L).build();
+    when(formRepository.findByFormKey("form1")).thenReturn(Optional.of(existing));
+
+    assertThrows(
+        PreconditionFailedException.class,
+        () -> formService.updateForm("form1", existing, new ETagUtils.EntityTag(1L, 1L)));
+    verify(formRepository, never()).saveAndFlush(any());
+    verifyNoInteractions(formVersions);
+  }
+
+  @Test
+  void updateFormOfARecreatedFormThrowsPreconditionFailed() {
+    Form recreated =
+        Form.builder().id(5L).formKey("form1").title("Test Form").version(0L).build();
+    when(formRepository.findByFormKey("form1")).thenReturn(Optional.of(recreated));
+
+    assertThrows(
+        PreconditionFailedException.class,
+        () -> formService.updateForm("form1", recreated, ETagUtils.parseIfMatchWithId("\"1.0\"")));
+    assertThrows(
+        PreconditionFailedException.class,
+        () -> formService.updateForm("form1", recreated, ETagUtils.parseIfMatchWithId("\"0\"")));
+    verify(formRepository, never()).saveAndFlush(any());
+  }
+
+  @Test
+  void deleteFormForgetsItsVersionsAndDictionaryEntry() {
+    Form existing = Form.builder().id(1L).formKey("form1").build();
+    when(formRepository.findByFormKey("form1")).thenReturn(Optional.of(existing));
+
+    formService.deleteForm("form1");
+
+    verify(formVersions).forget(existing);
+    verify(formRepository).delete(existing);
+    verify(submissionKeyDictionary).forgetForm("form1");
+  }
+
+  @Test
+  void deleteFormWithSubmissionsIsRejected() {
+    when(formRepository.findByFormKey("form1"))
+        .thenReturn(Optional.of(Form.builder().id(1L).formKey("form1").build()));
+    when(formDataRepository.existsByFormKey("form1")).thenReturn(true);
+
+    assertThrows(IllegalStateException.class, () -> formService.deleteForm("form1"));
+    verify(formRepository, never()).delete(any());
+  }
+
+  @Test
+  void deleteFormWithArchivedSubmissionsKeepsItsVersions() {
+    when(formRepository.findByFormKey("form1"))
+        .thenReturn(Optional.of(Form.builder().id(1L).formKey("form1").build()));
+    when(submissionArchive.streamByFormKey("form1"))
+        .thenReturn(Stream.of(new FormData("form1", Map.of(), "user")));
+
+    assertThrows(IllegalStateException.class, () -> formService.deleteForm("form1"));
+    verifyNoInteractions(formVersions);
+    verify(formRepository, never()).delete(any());
   }
 
   @Test
@@ -0,0 +1,85 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.dto.FormStatsDto;
+import com.example.backend.dto.TimeBucketCountDto;
+import com.example.backend.entity.Field;
+import com.example.backend.entity.FieldOption;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormCounter;
+import com.example.backend.entity.FormCounter.Kind;
+import com.example.backend.repository.FormCounterRepository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FormStatsServiceTest {
+
+  @Mock private FormService formService;
+  @Mock private FormCounterRepository formCounterRepository;
+  @InjectMocks private FormStatsService formStatsService;
+
+  @Test
+  void getStatsAlignsCountersWithTheFormDefinition() {
+    Form form =
+        Form.builder()
+            .formKey("survey")
+            .fields(
+                List.of(
+                    Field.builder()
+                        .name("rating")
+                        .type("radio")
+                        .required(true)
+                        .options(
+                            List.of(
+                                FieldOption.builder().value("1").build(),
+                                FieldOption.builder().value("2").build(),
+                                FieldOption.builder().value("3").build()))
+                        .build(),
+                    Field.builder().name("comment").type("textarea").build()))
+            .build();
+    when(formService.getForm("survey")).thenReturn(form);
+    when(formCounterRepository.findByIdFormKey("survey"))
+        .thenReturn(
+            List.of(
+                counter(Kind.DAY, "", "2024-01-03", 2),
+                counter(Kind.DAY, "", "2024-01-01", 1),
+                counter(Kind.DAY, "", "2024-01-09", 1),
+                counter(Kind.DAY, "", "2024-01-10", 0),
+                counter(Kind.OPTION, "rating", "1", 3),
+                counter(Kind.OPTION, "rating", "3", 1),
+                counter(Kind.ANSWERED, "comment", "", 1)));
+
+    FormStatsDto stats = formStatsService.getStats("survey", FormStatsService.Bucket.WEEK);
+
+    assertEquals(4, stats.getSubmissionCount());
+    assertEquals("week", stats.getBucket());
+    assertEquals(
+        List.of(
+            new TimeBucketCountDto(LocalDate.of(2024, 1, 1).atStartOfDay(), 3),
+            new TimeBucketCountDto(LocalDate.of(2024, 1, 8).atStartOfDay(), 1)),
+        stats.getSubmissionsOverTime());
+    assertEquals(Map.of("rating", Map.of("1", 3L, "2", 0L, "3", 1L)), stats.getOptionCounts());
+    assertEquals(
+        List.of("1", "2", "3"), List.copyOf(stats.getOptionCounts().get("rating").keySet()));
+    assertEquals(Map.of("comment", 0.25), stats.getCompletionRates());
+  }
+
+  @Test
+  void bucketParseRejectsUnknownUnits() {
+    assertEquals(FormStatsService.Bucket.MONTH, FormStatsService.Bucket.parse("month"));
+    assertThrows(IllegalArgumentException.class, () -> FormStatsService.Bucket.parse("hour"));
+  }
+
+  private static FormCounter counter(Kind kind, String field, String value, long total) {
+    return new FormCounter(new FormCounter.Key("survey", kind, field, value), total);
+  }
+}
@@ -0,0 +1,90 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.backend.entity.Field;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormData;
+import com.example.backend.repository.FormRepository;
+import com.example.backend.repository.FormVersionRepository;
+import com.example.backend.repository.SubmissionKeyDictionary;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@Import({SubmissionKeyDictionary.class, FormVersions.class})
+@ActiveProfiles("test")
+class FormVersionsTest {
+
+  @Autowired private FormVersions formVersions;
+  @Autowired private FormRepository formRepository;
+  @Autowired private FormVersionRepository formVersionRepository;
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  void submissionsKeepTheDefinitionTheyWerePinnedTo() {
+    Form form = formRepository.saveAndFlush(form("survey", "Survey", "rating"));
+    formVersions.snapshot(form);
+    FormData submission = new FormData("survey", Map.of("rating", 5), "user");
+    submission.setFormVersion(0);
+
+    form.setTitle("Survey v2");
+    form.setFields(List.of(field("score")));
+    formVersions.snapshot(formRepository.saveAndFlush(form));
+
+    assertEquals(1L, form.getVersion());
+    Form pinned = formVersions.of(submission);
+    assertEquals("Survey", pinned.getTitle());
+    assertEquals("rating", pinned.getFields().getFirst().getName());
+    assertEquals(0L, pinned.getVersion());
+    assertEquals("Survey v2", formVersions.get("survey", 1).getTitle());
+  }
+
+  @Test
+  void snapshotsAreLoadedOnceAndSavingWithoutChangesKeepsTheVersion() {
+    Form form = formRepository.saveAndFlush(form("poll", "Poll", "rating"));
+    formVersions.snapshot(form);
+    formVersions.snapshot(formRepository.saveAndFlush(form));
+    entityManager.clear();
+
+    assertEquals(0L, form.getVersion());
+    Form first = formVersions.get("poll", 0);
+    formVersionRepository.deleteByFormId(form.getId());
+    entityManager.clear();
+
+    assertSame(first, formVersions.get("poll", 0));
+    assertThrows(NoSuchElementException.class, () -> formVersions.get("poll", 1));
+  }
+
+  @Test
+  void forgetRemovesTheSnapshots() {
+    Form form = formRepository.saveAndFlush(form("quiz", "Quiz", "rating"));
+    formVersions.snapshot(form);
+    formVersions.get("quiz", 0);
+
+    formVersions.forget(form);
+    entityManager.clear();
+
+    assertTrue(formVersionRepository.findByIdFormIdOrderByIdVersionDesc(form.getId()).isEmpty());
+    assertThrows(NoSuchElementException.class, () -> formVersions.get("quiz", 0));
+  }
+
+  private static Form form(String formKey, String title, String fieldName) {
+    return Form.builder()
+        .formKey(formKey)
+        .title(title)
+        .fields(List.of(field(fieldName)))
+        .build();
+  }
+
+  private static Field field(String name) {
+    return Field.builder().name(name).label(name).type("text").build();
+  }
+}
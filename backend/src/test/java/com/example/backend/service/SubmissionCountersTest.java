@@ -0,0 +1,129 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.backend.entity.Field;
+import com.example.backend.entity.FieldOption;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormCounter;
+import com.example.backend.entity.FormCounter.Kind;
+import com.example.backend.entity.FormData;
+import com.example.backend.entity.SubmissionValues;
+import com.example.backend.repository.FormCounterRepository;
+import com.example.backend.repository.SubmissionKeyDictionary;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@Import(SubmissionKeyDictionary.class)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SubmissionCountersTest {
+
+  private static final Form FORM =
+      Form.builder()
+          .formKey("survey")
+          .fields(
+              List.of(
+                  Field.builder()
+                      .name("topics")
+                      .type("checkbox")
+                      .options(
+                          List.of(
+                              FieldOption.builder().value("billing").build(),
+                              FieldOption.builder().value("ui").build()))
+                      .build(),
+                  Field.builder().name("comment").type("textarea").build()))
+          .build();
+
+  @Autowired private FormCounterRepository formCounterRepository;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private SubmissionCounters counters;
+
+  @BeforeEach
+  void setUp() {
+    formCounterRepository.deleteAll();
+    // flusher thread not started; the test flushes explicitly
+    counters =
+        new SubmissionCounters(
+            formCounterRepository, new TransactionTemplate(transactionManager), Duration.ZERO);
+  }
+
+  @Test
+  void flushInsertsThenIncrementsCounters() {
+    counters.added(FORM, submission(Map.of("topics", List.of("billing", "ui"), "comment", "hi")));
+    counters.flush();
+    counters.added(FORM, submission(Map.of("topics", List.of("ui"), "comment", " ")));
+    counters.flush();
+
+    assertEquals(
+        Map.of(
+            "DAY:2024-01-02", 2L,
+            "OPTION:topics=billing", 1L,
+            "OPTION:topics=ui", 2L,
+            "ANSWERED:topics", 2L,
+            "ANSWERED:comment", 1L),
+        totals());
+  }
+
+  @Test
+  void changesAndRemovalsAreNetted() {
+    FormData first = submission(Map.of("topics", List.of("billing")));
+    counters.added(FORM, first);
+    counters.added(FORM, submission(Map.of("topics", List.of("billing"), "comment", "hi")));
+    counters.changed(FORM, first.getData(), FORM, Map.of("topics", List.of("ui")));
+    first.setData(SubmissionValues.copyOf(Map.of("topics", List.of("ui"))));
+    counters.removed(FORM, first);
+    counters.flush();
+
+    assertEquals(
+        Map.of(
+            "DAY:2024-01-02", 1L,
+            "OPTION:topics=billing", 1L,
+            "ANSWERED:topics", 1L,
+            "ANSWERED:comment", 1L),
+        totals());
+  }
+
+  @Test
+  void unknownOptionValuesAreNotCounted() {
+    counters.added(FORM, submission(Map.of("topics", List.of("other"))));
+    counters.flush();
+
+    assertEquals(Map.of("DAY:2024-01-02", 1L, "ANSWERED:topics", 1L), totals());
+  }
+
+  private static FormData submission(Map<String, Object> data) {
+    FormData formData = new FormData("survey", data, "user");
+    formData.setSubmittedAt(LocalDateTime.of(2024, 1, 2, 10, 0));
+    return formData;
+  }
+
+  private Map<String, Long> totals() {
+    return formCounterRepository.findByIdFormKey("survey").stream()
+        .filter(counter -> counter.getTotal() != 0)
+        .collect(Collectors.toMap(counter -> label(counter.getId()), FormCounter::getTotal));
+  }
+
+  private static String label(FormCounter.Key key) {
+    return switch (key.getKind()) {
+      case DAY -> "DAY:" + key.getItemValue();
+      case OPTION -> "OPTION:" + key.getFieldName() + "=" + key.getItemValue();
+      case ANSWERED -> "ANSWERED:" + key.getFieldName();
+    };
+  }
+}
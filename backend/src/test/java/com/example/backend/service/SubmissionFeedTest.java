@@ -0,0 +1,149 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.dto.FormDataDto;
+import com.example.backend.entity.FormData;
+import com.example.backend.mapper.FormDataMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@ExtendWith(MockitoExtension.class)
+class SubmissionFeedTest {
+
+  @Mock private FormDataMapper formDataMapper;
+
+  private MeterRegistry registry;
+  private SubmissionFeed feed;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    feed = new SubmissionFeed(formDataMapper, registry, 2, Duration.ofMinutes(1));
+    lenient()
+        .when(formDataMapper.toDto(any(FormData.class)))
+        .thenAnswer(
+            invocation -> {
+              FormData f = invocation.getArgument(0);
+              return new FormDataDto(
+                  f.getId(), f.getFormKey(), 0, f.getData(), null, f.getSubmittedBy(), 0L);
+            });
+  }
+
+  @AfterEach
+  void tearDown() {
+    feed.stop();
+  }
+
+  @Test
+  void slowSubscriberKeepsTheNewestEventsAndOtherFormsAreNotSent() throws Exception {
+    CountDownLatch sending = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingEmitter contact = new RecordingEmitter(sending, release);
+    RecordingEmitter survey = new RecordingEmitter(null, null);
+    feed.subscribe("contact", contact);
+    feed.subscribe("survey", survey);
+
+    feed.published(submission(1L, "contact"));
+    assertTrue(sending.await(5, TimeUnit.SECONDS));
+    for (long id = 2; id <= 4; id++) {
+      feed.published(submission(id, "contact"));
+    }
+    release.countDown();
+
+    assertEquals(List.of("1", "3", "4"), contact.take(3));
+    assertEquals(1.0, registry.get("submission.feed.dropped").counter().count());
+    assertTrue(survey.ids.isEmpty());
+  }
+
+  @Test
+  void subscriberIsRemovedWhenTheClientGoesAway() throws Exception {
+    RecordingEmitter gone = new RecordingEmitter(null, null);
+    gone.failing = true;
+    feed.subscribe("contact", gone);
+    assertEquals(1.0, subscribers());
+
+    feed.published(submission(1L, "contact"));
+
+    for (int i = 0; i < 100 && subscribers() > 0; i++) {
+      Thread.sleep(10);
+    }
+    assertEquals(0.0, subscribers());
+    feed.published(submission(2L, "contact"));
+    verify(formDataMapper, times(1)).toDto(any(FormData.class));
+  }
+
+  private double subscribers() {
+    return registry.get("submission.feed.subscribers").gauge().value();
+  }
+
+  private static FormData submission(Long id, String formKey) {
+    FormData formData = new FormData(formKey, Map.of("name", "value"), "user");
+    formData.setId(id);
+    return formData;
+  }
+
+  /** Records the ids of the events sent; the first send can be held until released. */
+  private static final class RecordingEmitter extends SseEmitter {
+
+    private final BlockingQueue<String> ids = new LinkedBlockingQueue<>();
+    private CountDownLatch sending;
+    private final CountDownLatch release;
+    private volatile boolean failing;
+
+    RecordingEmitter(CountDownLatch sending, CountDownLatch release) {
+      this.sending = sending;
+      this.release = release;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+      if (failing) {
+        throw new IOException("Broken pipe");
+      }
+      if (sending != null) {
+        sending.countDown();
+        sending = null;
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      String event =
+          builder.build().stream()
+              .map(part -> String.valueOf(part.getData()))
+              .collect(Collectors.joining());
+      ids.add(event.replaceAll("(?s).*\\bid:(\\S+).*", "$1"));
+    }
+
+    List<String> take(int count) throws InterruptedException {
+      List<String> taken = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        String id = ids.poll(5, TimeUnit.SECONDS);
+        assertNotNull(id, "expected " + count + " events, got " + taken);
+        taken.add(id);
+      }
+      return taken;
+    }
+  }
+}
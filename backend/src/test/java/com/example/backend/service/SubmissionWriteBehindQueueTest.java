@@ -0,0 +1,165 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.dto.SubmissionReceiptDto;
+import com.example.backend.dto.SubmissionReceiptDto.Status;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormData;
+import com.example.backend.repository.FormDataRepository;
+import com.example.backend.validation.SubmissionValidator;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class SubmissionWriteBehindQueueTest {
+
+  @Mock private FormService formService;
+  @Mock private SubmissionValidator submissionValidator;
+  @Mock private FormDataRepository formDataRepository;
+  @Mock private SubmissionCounters submissionCounters;
+  @Mock private SubmissionFeed submissionFeed;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private SubmissionWriteBehindQueue queue;
+
+  @BeforeEach
+  void setUp() {
+    when(formService.getForm("form1")).thenReturn(Form.builder().formKey("form1").build());
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    queue.stop();
+  }
+
+  @Test
+  void acceptedSubmissionIsPersistedInBackground() throws InterruptedException {
+    queue = newQueue(10);
+    when(formDataRepository.saveAll(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<FormData> saved = invocation.getArgument(0);
+              saved.forEach(f -> f.setId(42L));
+              return saved;
+            });
+    queue.start();
+
+    SubmissionReceiptDto receipt =
+        queue.accept("form1", new FormData("form1", Map.of("field", "value"), "user"));
+    assertEquals(Status.QUEUED, receipt.getStatus());
+
+    SubmissionReceiptDto status = awaitStatus(receipt.getTrackingId(), Status.PERSISTED);
+    assertEquals(42L, status.getId());
+  }
+
+  @Test
+  void failedBatchIsRetriedRowByRowAsInserts() throws InterruptedException {
+    queue = newQueue(10);
+    when(formDataRepository.saveAll(anyList()))
+        .thenAnswer(
+            invocation -> {
+              // The failed persist has already assigned an id and a version
+              List<FormData> batch = invocation.getArgument(0);
+              batch.forEach(
+                  f -> {
+                    f.setId(7L);
+                    f.setVersion(0L);
+                  });
+              throw new DataIntegrityViolationException("batch failed");
+            });
+    List<FormData> retried = new CopyOnWriteArrayList<>();
+    when(formDataRepository.save(any(FormData.class)))
+        .thenAnswer(
+            invocation -> {
+              FormData formData = invocation.getArgument(0);
+              retried.add(
+                  new FormData(
+                      formData.getId(),
+                      formData.getFormKey(),
+                      formData.getFormVersion(),
+                      formData.getData(),
+                      formData.getSubmittedAt(),
+                      formData.getSubmittedBy(),
+                      formData.getVersion()));
+              // Return a copy, as a merge would, to check the result is what gets reported
+              FormData saved = new FormData("form1", Map.of("field", "value"), "user");
+              saved.setId(43L);
+              return saved;
+            });
+    queue.start();
+
+    SubmissionReceiptDto receipt =
+        queue.accept("form1", new FormData("form1", Map.of("field", "value"), "user"));
+
+    SubmissionReceiptDto status = awaitStatus(receipt.getTrackingId(), Status.PERSISTED);
+    assertEquals(43L, status.getId());
+    assertEquals(1, retried.size());
+    assertNull(retried.getFirst().getId());
+    assertNull(retried.getFirst().getVersion());
+    verify(submissionFeed).published(argThat(f -> f.getId() == 43L));
+  }
+
+  @Test
+  void acceptRejectsWhenQueueIsFull() {
+    queue = newQueue(1); // writer not started, nothing drains
+
+    queue.accept("form1", new FormData("form1", Map.of(), "user"));
+
+    assertThrows(
+        SubmissionQueueFullException.class,
+        () -> queue.accept("form1", new FormData("form1", Map.of(), "user")));
+    assertEquals(1, queue.size());
+  }
+
+  @Test
+  void statusIsOnlyVisibleToSubmitter() {
+    queue = newQueue(1);
+
+    SubmissionReceiptDto receipt = queue.accept("form1", new FormData("form1", Map.of(), "user"));
+
+    assertTrue(queue.getStatus(receipt.getTrackingId(), "user").isPresent());
+    assertTrue(queue.getStatus(receipt.getTrackingId(), "other").isEmpty());
+    assertTrue(queue.getStatus("unknown", "user").isEmpty());
+  }
+
+  private SubmissionWriteBehindQueue newQueue(int capacity) {
+    return new SubmissionWriteBehindQueue(
+        formService,
+        submissionValidator,
+        formDataRepository,
+        submissionCounters,
+        submissionFeed,
+        new TransactionTemplate(transactionManager),
+        capacity,
+        50,
+        Duration.ofMillis(10),
+        Duration.ofMinutes(1));
+  }
+
+  private SubmissionReceiptDto awaitStatus(String trackingId, Status expected)
+      throws InterruptedException {
+    for (int i = 0; i < 200; i++) {
+      SubmissionReceiptDto status = queue.getStatus(trackingId, "user").orElseThrow();
+      if (status.getStatus() == expected) {
+        return status;
+      }
+      Thread.sleep(10);
+    }
+    fail("Submission did not reach status " + expected);
+    return null;
+  }
+}
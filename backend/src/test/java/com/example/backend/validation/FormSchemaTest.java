@@ -0,0 +1,107 @@
+package com.example.backend.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.backend.dto.ValidationErrorDto;
+import com.example.backend.entity.Field;
+import com.example.backend.entity.FieldOption;
+import com.example.backend.entity.Form;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class FormSchemaTest {
+
+  private final FormSchema schema =
+      FormSchema.compile(
+          Form.builder()
+              .formKey("survey")
+              .fields(
+                  List.of(
+                      field("fullName", "Full Name", "text", true),
+                      field("email", "Email", "email", true),
+                      field("age", "Age", "number", false),
+                      field("born", "Born", "date", false),
+                      Field.builder()
+                          .name("rating")
+                          .label("Rating")
+                          .type("select")
+                          .required(true)
+                          .options(List.of(option("1"), option("2")))
+                          .build(),
+                      Field.builder()
+                          .name("topics")
+                          .label("Topics")
+                          .type("checkbox")
+                          .options(List.of(option("a"), option("b")))
+                          .build()))
+              .build());
+
+  @Test
+  void validSubmissionHasNoErrors() {
+    List<ValidationErrorDto> errors =
+        schema.validate(
+            Map.of(
+                "fullName", "Jane",
+                "email", "jane@example.com",
+                "age", "42",
+                "born", "1990-01-31",
+                "rating", "2",
+                "topics", List.of("a", "b")));
+
+    assertEquals(List.of(), errors);
+  }
+
+  @Test
+  void missingRequiredFieldsAreReported() {
+    List<ValidationErrorDto> errors = schema.validate(Map.of("fullName", " ", "topics", false));
+
+    assertEquals(3, errors.size());
+    assertTrue(errors.stream().allMatch(e -> e.getCode().equals("Required")));
+    assertTrue(errors.stream().anyMatch(e -> e.getMessage().equals("Full Name is required")));
+  }
+
+  @Test
+  void invalidValuesAreReportedPerField() {
+    List<ValidationErrorDto> errors =
+        schema.validate(
+            Map.of(
+                "fullName", "Jane",
+                "email", "not-an-email",
+                "age", "many",
+                "born", "31.1.1990",
+                "rating", "9",
+                "topics", List.of("a", "z")));
+
+    assertEquals(
+        Map.of(
+            "email", "Email",
+            "age", "Number",
+            "born", "Date",
+            "rating", "Option",
+            "topics", "Option"),
+        errors.stream()
+            .collect(
+                Collectors.toMap(
+                    ValidationErrorDto::getField, ValidationErrorDto::getCode)));
+  }
+
+  @Test
+  void unknownFieldsAreRejected() {
+    List<ValidationErrorDto> errors =
+        schema.validate(
+            Map.of("fullName", "Jane", "email", "j@example.com", "rating", "1", "extra", "x"));
+
+    assertEquals(
+        List.of(new ValidationErrorDto("extra", "Unknown field: extra", "UnknownField")), errors);
+  }
+
+  private static Field field(String name, String label, String type, boolean required) {
+    return Field.builder().name(name).label(label).type(type).required(required).build();
+  }
+
+  private static FieldOption option(String value) {
+    return FieldOption.builder().value(value).label(value).build();
+  }
+}
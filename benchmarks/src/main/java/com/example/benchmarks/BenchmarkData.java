@@ -0,0 +1,78 @@
+package com.example.benchmarks;
+
+import com.example.backend.entity.Field;
+import com.example.backend.entity.FieldOption;
+import com.example.backend.entity.Form;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Payloads shaped like the bundled {@code contact} form. */
+final class BenchmarkData {
+
+  private BenchmarkData() {}
+
+  static final String SUBMISSION_JSON =
+      """
+      {"name":"Jane Doe","email":"jane.doe@example.com","phone":"+1 (555) 123-4567",\
+      "subject":"support","message":"The export page times out when I select all forms.",\
+      "urgency":"high"}""";
+
+  static Map<String, Object> submission() {
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("name", "Jane Doe");
+    data.put("email", "jane.doe@example.com");
+    data.put("phone", "+1 (555) 123-4567");
+    data.put("subject", "support");
+    data.put("message", "The export page times out when I select all forms.");
+    data.put("urgency", "high");
+    return data;
+  }
+
+  static Form contactForm() {
+    return Form.builder()
+        .id(1L)
+        .formKey("contact")
+        .title("Contact Us")
+        .description("Get in touch with our team")
+        .fields(
+            List.of(
+                field("name", "Your Name", "text", true, null),
+                field("email", "Email Address", "email", true, null),
+                field("phone", "Phone Number", "tel", false, null),
+                field(
+                    "subject",
+                    "Subject",
+                    "select",
+                    true,
+                    List.of(
+                        option("general", "General Inquiry"),
+                        option("support", "Technical Support"),
+                        option("sales", "Sales Question"),
+                        option("billing", "Billing Issue"))),
+                field("message", "Message", "textarea", true, null),
+                field(
+                    "urgency",
+                    "Priority Level",
+                    "radio",
+                    true,
+                    List.of(
+                        option("low", "Low"), option("medium", "Medium"), option("high", "High")))))
+        .build();
+  }
+
+  private static Field field(
+      String name, String label, String type, boolean required, List<FieldOption> options) {
+    return Field.builder()
+        .name(name)
+        .label(label)
+        .type(type)
+        .required(required)
+        .options(options)
+        .build();
+  }
+
+  private static FieldOption option(String value, String label) {
+    return FieldOption.builder().value(value).label(label).build();
+  }
+}
@@ -0,0 +1,65 @@
+package com.example.benchmarks;
+
+import com.example.backend.BackendApplication;
+import com.example.backend.entity.FormData;
+import com.example.backend.service.FormDataService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * {@code FormDataService.createFormSubmission} through the Spring proxies (validation, transaction,
+ * logging) into an in-memory H2 database with the bundled form definitions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class CreateFormSubmissionBenchmark {
+
+  private ConfigurableApplicationContext context;
+  private FormDataService formDataService;
+
+  @Setup
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(BackendApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.security.oauth2.resourceserver.jwt.issuer-uri=http://localhost:9000",
+                "logging.level.root=WARN",
+                "logging.level.com.example=WARN")
+            .run();
+    formDataService = context.getBean(FormDataService.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public FormData createFormSubmission() {
+    return formDataService.createFormSubmission(
+        "contact", new FormData("contact", BenchmarkData.submission(), "user"));
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.benchmarks;
+
+import com.example.backend.entity.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+/** The JSON work Hibernate does for the {@code form.fields} JSONB column on every load and save. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormFieldsJsonBenchmark {
+
+  private ObjectReader reader;
+  private ObjectWriter writer;
+  private List<Field> fields;
+  private byte[] json;
+
+  @Setup
+  public void setUp() {
+    JsonMapper mapper = JsonMapper.builder().build();
+    reader = mapper.readerFor(new TypeReference<List<Field>>() {});
+    writer = mapper.writerFor(new TypeReference<List<Field>>() {});
+    fields = BenchmarkData.contactForm().getFields();
+    json = writer.writeValueAsBytes(fields);
+  }
+
+  @Benchmark
+  public byte[] serializeFields() {
+    return writer.writeValueAsBytes(fields);
+  }
+
+  @Benchmark
+  public List<Field> deserializeFields() {
+    return reader.readValue(json);
+  }
+}
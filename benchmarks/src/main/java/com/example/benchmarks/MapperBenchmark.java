@@ -0,0 +1,78 @@
+package com.example.benchmarks;
+
+import com.example.backend.dto.FormDataDto;
+import com.example.backend.dto.FormDto;
+import com.example.backend.entity.Form;
+import com.example.backend.entity.FormData;
+import com.example.backend.entity.SubmissionValues;
+import com.example.backend.mapper.FormDataMapper;
+import com.example.backend.mapper.FormDataMapperImpl;
+import com.example.backend.mapper.FormMapper;
+import com.example.backend.mapper.FormMapperImpl;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** MapStruct conversions used by every form and submission response. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+  @Param({"1", "100"})
+  public int listSize;
+
+  private final FormDataMapper formDataMapper = new FormDataMapperImpl();
+  private final FormMapper formMapper = new FormMapperImpl();
+  private List<FormData> submissions;
+  private Form form;
+  private FormDto formDto;
+
+  @Setup
+  public void setUp() {
+    submissions = new ArrayList<>(listSize);
+    for (long i = 0; i < listSize; i++) {
+      submissions.add(
+          new FormData(
+              i,
+              "contact",
+              0,
+              SubmissionValues.copyOf(BenchmarkData.submission()),
+              LocalDateTime.now(),
+              "user",
+              0L));
+    }
+    form = BenchmarkData.contactForm();
+    formDto = formMapper.toDto(form);
+  }
+
+  @Benchmark
+  public List<FormDataDto> formDataMapList() {
+    return formDataMapper.mapList(submissions);
+  }
+
+  @Benchmark
+  public FormDto formToDto() {
+    return formMapper.toDto(form);
+  }
+
+  @Benchmark
+  public Form formToEntity() {
+    return formMapper.toEntity(formDto);
+  }
+}
@@ -0,0 +1,82 @@
+package com.example.benchmarks;
+
+import com.example.backend.util.AuthenticatedUser;
+import com.example.backend.util.SecurityUtils;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/** Per-request principal lookups done by {@code FormDataController}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityUtilsBenchmark {
+
+  private Jwt jwt;
+  private JwtAuthenticationToken user;
+  private JwtAuthenticationToken admin;
+  private AuthenticatedUser adminUser;
+
+  @Setup
+  public void setUp() {
+    jwt =
+        Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .subject("1234")
+            .claim("preferred_username", "user")
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(3600))
+            .build();
+    List<SimpleGrantedAuthority> userAuthorities =
+        List.of(
+            new SimpleGrantedAuthority("SCOPE_openid"),
+            new SimpleGrantedAuthority("SCOPE_profile"),
+            new SimpleGrantedAuthority("ROLE_USER"));
+    user = new JwtAuthenticationToken(jwt, userAuthorities);
+    admin =
+        new JwtAuthenticationToken(
+            jwt,
+            List.of(
+                new SimpleGrantedAuthority("SCOPE_openid"),
+                new SimpleGrantedAuthority("ROLE_USER"),
+                new SimpleGrantedAuthority("ROLE_ADMIN")));
+    adminUser = AuthenticatedUser.of(admin);
+  }
+
+  @Benchmark
+  public String getUsername() {
+    return SecurityUtils.getUsername(jwt);
+  }
+
+  @Benchmark
+  public boolean isAdminForUser() {
+    return SecurityUtils.isAdmin(user);
+  }
+
+  @Benchmark
+  public boolean isAdminForAdmin() {
+    return SecurityUtils.isAdmin(admin);
+  }
+
+  /** The per-request {@link AuthenticatedUser} controllers read instead. */
+  @Benchmark
+  public boolean isAdminFromAuthenticatedUser() {
+    return adminUser.admin();
+  }
+}
@@ -0,0 +1,58 @@
+package com.example.benchmarks;
+
+import com.example.backend.entity.SubmissionValues;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Request body binding of {@code POST /api/form-data/{key}}: the generic {@code Map<String,Object>}
+ * binding against reading straight into the slots of the form's {@link SubmissionValues.Layout}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubmissionJsonBenchmark {
+
+  private JsonMapper mapper;
+  private ObjectReader reader;
+  private SubmissionValues.Layout layout;
+  private byte[] body;
+
+  @Setup
+  public void setUp() {
+    mapper = JsonMapper.builder().build();
+    reader = mapper.readerFor(new TypeReference<Map<String, Object>>() {});
+    layout = SubmissionValues.Layout.of(BenchmarkData.contactForm());
+    body = BenchmarkData.SUBMISSION_JSON.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public Map<String, Object> deserializeSubmission() {
+    return reader.readValue(body);
+  }
+
+  @Benchmark
+  public SubmissionValues bindSubmissionValues() {
+    try (JsonParser parser = mapper.createParser(body)) {
+      return SubmissionValues.read(parser, layout);
+    }
+  }
+}
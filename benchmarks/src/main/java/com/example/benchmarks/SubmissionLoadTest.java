@@ -0,0 +1,202 @@
+package com.example.benchmarks;
+
+import com.example.backend.BackendApplication;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Closed-loop load test for {@code POST /api/form-data/contact}: starts the backend once per mode,
+ * keeps {@code concurrency} clients submitting back to back and reports throughput and latency
+ * percentiles. {@code platform} is the default Tomcat worker pool, {@code virtual} activates the
+ * {@code virtual-threads} profile.
+ *
+ * <p>Arguments are {@code key=value} settings ({@code modes}, {@code concurrency}, {@code warmup},
+ * {@code duration}); anything starting with {@code --} is passed to Spring, e.g. {@code
+ * --spring.datasource.url=...} to measure against PostgreSQL instead of in-memory H2. H2 answers
+ * without blocking, so the gap between the modes only shows against a real database.
+ */
+public final class SubmissionLoadTest {
+
+  private SubmissionLoadTest() {}
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> settings = new HashMap<>();
+    List<String> springArgs = new ArrayList<>();
+    for (String arg : args) {
+      if (arg.startsWith("--")) {
+        springArgs.add(arg);
+      } else if (arg.contains("=")) {
+        settings.put(arg.substring(0, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+      }
+    }
+    int concurrency = Integer.parseInt(settings.getOrDefault("concurrency", "256"));
+    Duration warmup = Duration.ofSeconds(Long.parseLong(settings.getOrDefault("warmup", "10")));
+    Duration duration = Duration.ofSeconds(Long.parseLong(settings.getOrDefault("duration", "30")));
+
+    List<Result> results = new ArrayList<>();
+    for (String mode : settings.getOrDefault("modes", "platform,virtual").split(",")) {
+      results.add(run(mode, concurrency, warmup, duration, springArgs.toArray(String[]::new)));
+    }
+
+    System.out.printf(
+        "%n%-10s %11s %10s %10s %10s %10s %8s%n",
+        "mode", "concurrency", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+    for (Result result : results) {
+      System.out.printf(
+          "%-10s %11d %10.0f %10.1f %10.1f %10.1f %8d%n",
+          result.mode(),
+          concurrency,
+          result.throughput(),
+          result.percentile(0.50),
+          result.percentile(0.99),
+          result.percentile(1.0),
+          result.errors());
+    }
+  }
+
+  private static Result run(
+      String mode, int concurrency, Duration warmup, Duration duration, String[] springArgs)
+      throws Exception {
+    SpringApplicationBuilder builder =
+        new SpringApplicationBuilder(BackendApplication.class, StaticJwtConfig.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.security.oauth2.resourceserver.jwt.issuer-uri=http://localhost:9000",
+                // StaticJwtConfig replaces the verifying decoder of JwtDecoderConfig
+                "spring.main.allow-bean-definition-overriding=true",
+                "logging.level.root=WARN",
+                "logging.level.com.example=WARN");
+    switch (mode) {
+      case "platform" -> builder.properties("spring.threads.virtual.enabled=false");
+      case "virtual" -> builder.profiles("virtual-threads");
+      default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+    }
+
+    try (ConfigurableApplicationContext context = builder.run(springArgs);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      HttpRequest request =
+          HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/form-data/contact"))
+              .header("Content-Type", "application/json")
+              .header("Authorization", "Bearer load-test")
+              .POST(HttpRequest.BodyPublishers.ofString(BenchmarkData.SUBMISSION_JSON))
+              .build();
+
+      long measureFrom = System.nanoTime() + warmup.toNanos();
+      long measureTo = measureFrom + duration.toNanos();
+      List<Future<Samples>> futures = new ArrayList<>();
+      for (int i = 0; i < concurrency; i++) {
+        futures.add(clients.submit(() -> drive(client, request, measureFrom, measureTo)));
+      }
+      Samples total = new Samples();
+      for (Future<Samples> future : futures) {
+        total.addAll(future.get());
+      }
+      return new Result(mode, total.sorted(), total.errors, duration);
+    }
+  }
+
+  private static Samples drive(
+      HttpClient client, HttpRequest request, long measureFrom, long measureTo) {
+    Samples samples = new Samples();
+    long start;
+    while ((start = System.nanoTime()) < measureTo) {
+      boolean ok;
+      try {
+        ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 300;
+      } catch (Exception e) {
+        ok = false;
+      }
+      if (start >= measureFrom) {
+        if (ok) {
+          samples.add(System.nanoTime() - start);
+        } else {
+          samples.errors++;
+        }
+      }
+    }
+    return samples;
+  }
+
+  /** Per-client latencies in nanoseconds, kept unboxed so recording does not allocate. */
+  private static final class Samples {
+    private long[] nanos = new long[1024];
+    private int size;
+    private long errors;
+
+    void add(long value) {
+      if (size == nanos.length) {
+        nanos = Arrays.copyOf(nanos, size * 2);
+      }
+      nanos[size++] = value;
+    }
+
+    void addAll(Samples other) {
+      for (int i = 0; i < other.size; i++) {
+        add(other.nanos[i]);
+      }
+      errors += other.errors;
+    }
+
+    long[] sorted() {
+      long[] sorted = Arrays.copyOf(nanos, size);
+      Arrays.sort(sorted);
+      return sorted;
+    }
+  }
+
+  private record Result(String mode, long[] sortedNanos, long errors, Duration duration) {
+
+    double throughput() {
+      return sortedNanos.length / (duration.toMillis() / 1000.0);
+    }
+
+    double percentile(double p) {
+      if (sortedNanos.length == 0) {
+        return Double.NaN;
+      }
+      int index = (int) Math.ceil(p * sortedNanos.length) - 1;
+      return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+  }
+
+  /** Accepts any bearer token so the test does not need the authorization server. */
+  @Configuration(proxyBeanMethods = false)
+  static class StaticJwtConfig {
+
+    @Bean
+    JwtDecoder jwtDecoder() {
+      return token ->
+          Jwt.withTokenValue(token)
+              .header("alg", "none")
+              .subject("load-test")
+              .issuedAt(Instant.now())
+              .expiresAt(Instant.now().plusSeconds(3600))
+              .build();
+    }
+  }
+}
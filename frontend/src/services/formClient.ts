@@ -1,9 +1,16 @@
 import {http} from './http';
-import {CreateForm, Form, FormListItem} from '../types/Form';
+import {CreateForm, Form, FormListItem, FormListPage} from '../types/Form';
 
 export const formClient = {
   async getForms(token: string): Promise<FormListItem[]> {
-    return http.request<FormListItem[]>('/forms', {token});
+    const forms: FormListItem[] = [];
+    for (let page = 0; ; page++) {
+      const result = await http.request<FormListPage>(`/forms?page=${page}&size=500`, {token});
+      forms.push(...result.items);
+      if (!result.hasNext) {
+        return forms;
+      }
+    }
   },
 
   async getForm(formKey: string, token: string): Promise<Form> {
@@ -26,6 +33,7 @@ export const formClient = {
     });
   },
 
+  /** Rejected with 409 Conflict, and the server's explanation, while the form has submissions. */
   async deleteForm(formKey: string, token: string): Promise<void> {
     await http.request<undefined>(`/forms/${formKey}`, {
       method: 'DELETE',
@@ -1,5 +1,5 @@
 import {http} from './http';
-import {FormDataDto} from '../types/Form';
+import {FormDataDto, FormDataPage} from '../types/Form';
 
 export const formDataClient = {
   async submitForm(formKey: string, data: Record<string, unknown>, token: string): Promise<FormDataDto> {
@@ -19,7 +19,15 @@ export const formDataClient = {
   },
 
   async getAllSubmissions(token: string): Promise<FormDataDto[]> {
-    return http.request<FormDataDto[]>('/form-data', {token});
+    const submissions: FormDataDto[] = [];
+    let cursor: string | null = null;
+    do {
+      const query: string = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+      const page: FormDataPage = await http.request<FormDataPage>(`/form-data?limit=500${query}`, {token});
+      submissions.push(...page.items);
+      cursor = page.nextCursor;
+    } while (cursor);
+    return submissions;
   },
 
   async getSubmissionById(id: number, token: string): Promise<FormDataDto> {
@@ -18,6 +18,7 @@ export interface Form {
   title: string;
   description: string;
   fields: FormField[];
+  version?: number;
 }
 
 export interface CreateForm {
@@ -32,12 +33,23 @@ export interface FormListItem {
   readonly title: string;
 }
 
+export interface FormListPage {
+  readonly items: FormListItem[];
+  readonly hasNext: boolean;
+}
+
 export interface FormDataDto {
   readonly id: number;
   readonly formKey: string;
   readonly data: Record<string, unknown>;
   readonly submittedAt: string;
   readonly submittedBy: string;
+  readonly version: number;
+}
+
+export interface FormDataPage {
+  readonly items: FormDataDto[];
+  readonly nextCursor: string | null;
 }
 
 export type FormValues = Record<string, string | string[] | boolean>;